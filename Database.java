@@ -2,16 +2,117 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 public class Database {
-    private static final String DB_URL = "jdbc:sqlite:db/restaurant.db";
+    private static final String DB_URL = System.getProperty("restaurant.db.url", "jdbc:sqlite:db/restaurant.db");
+    private static final int READER_COUNT = Integer.getInteger("restaurant.db.readers", 2);
 
+    // Настройки SQLite: WAL позволяет читать таблицу рекордов параллельно с записью заказов
+    private static final String[] CONNECTION_PRAGMAS = {
+            "PRAGMA busy_timeout = 5000",
+            "PRAGMA synchronous = NORMAL",
+            "PRAGMA cache_size = -8000",     // 8 МБ
+            "PRAGMA mmap_size = 67108864"    // 64 МБ
+    };
 
+    // Один писатель (SQLite всё равно пишет последовательно) и несколько читателей
+    // Читатели под своим замком: write() держит Database.class всю пачку, и read() не должен его ждать
+    private static PooledConnection writer;
+    private static final Object readersLock = new Object();
+    private static volatile BlockingQueue<PooledConnection> readers;
+    private static final List<PooledConnection> allReaders = new ArrayList<>();
+
+    @FunctionalInterface
+    public interface SqlWork<T> {
+        T run(PooledConnection conn) throws SQLException;
+    }
+
+    // Отдельное короткоживущее соединение, для разовых операций
     public static Connection getConnection() throws SQLException {
 
         return DriverManager.getConnection(DB_URL);
     }
 
+    // Выполнить запись на общем соединении-писателе. Вызовы сериализуются
+    public static <T> T write(SqlWork<T> work) throws SQLException {
+        synchronized (Database.class) {
+            if (writer == null) {
+                writer = openConnection(false);
+            }
+            return work.run(writer);
+        }
+    }
+
+    // Выполнить чтение на свободном соединении-читателе
+    public static <T> T read(SqlWork<T> work) throws SQLException {
+        BlockingQueue<PooledConnection> pool = readerPool();
+        PooledConnection conn;
+        try {
+            conn = pool.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Прервано ожидание соединения для чтения", e);
+        }
+        try {
+            return work.run(conn);
+        } finally {
+            pool.offer(conn);
+        }
+    }
+
+    private static BlockingQueue<PooledConnection> readerPool() throws SQLException {
+        BlockingQueue<PooledConnection> pool = readers;
+        if (pool != null) {
+            return pool;
+        }
+        synchronized (readersLock) {
+            if (readers == null) {
+                pool = new ArrayBlockingQueue<>(Math.max(1, READER_COUNT));
+                for (int i = 0; i < Math.max(1, READER_COUNT); i++) {
+                    PooledConnection conn = openConnection(true);
+                    allReaders.add(conn);
+                    pool.add(conn);
+                }
+                readers = pool;
+            }
+            return readers;
+        }
+    }
+
+    private static PooledConnection openConnection(boolean readOnly) throws SQLException {
+        Connection conn = DriverManager.getConnection(DB_URL);
+        try (Statement stmt = conn.createStatement()) {
+            for (String pragma : CONNECTION_PRAGMAS) {
+                stmt.execute(pragma);
+            }
+            if (readOnly) {
+                stmt.execute("PRAGMA query_only = ON");
+            }
+        }
+        return new PooledConnection(conn);
+    }
+
+    // Закрыть пул (например, в конце бенчмарка). Повторное обращение откроет его заново
+    public static void close() {
+        synchronized (Database.class) {
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            }
+        }
+        synchronized (readersLock) {
+            for (PooledConnection conn : allReaders) {
+                conn.close();
+            }
+            allReaders.clear();
+            readers = null;
+        }
+    }
+
 
     public static void initDatabase() {
 
@@ -35,17 +136,21 @@ public class Database {
             );
             """;
 
-        try (Connection conn = getConnection();
-             Statement stmt = conn.createStatement()) {
-
-            stmt.execute(createGameResultsTable);
-            stmt.execute(createOrdersTable);
+        try {
+            write(conn -> {
+                try (Statement stmt = conn.getConnection().createStatement()) {
+                    stmt.execute("PRAGMA journal_mode = WAL"); // сохраняется в файле БД
+                    stmt.execute(createGameResultsTable);
+                    stmt.execute(createOrdersTable);
+                }
+                return null;
+            });
+            readerPool(); // заранее, чтобы первое чтение не открывало соединения
 
-            System.out.println("✅ База данных и таблицы успешно инициализированы.");
+            Log.info("✅ База данных и таблицы успешно инициализированы.");
 
         } catch (SQLException e) {
-            System.out.println("❌ Ошибка при инициализации базы данных:");
-            e.printStackTrace();
+            Log.error("❌ Ошибка при инициализации базы данных:", e);
         }
     }
-}
\ No newline at end of file
+}
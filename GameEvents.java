@@ -0,0 +1,107 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Свои события JFR - фазы игры рядом с GC и вводом-выводом в JDK Mission Control.
+// Все выключены по умолчанию (@Enabled(false)): стандартные профили JDK их не пишут,
+// включает их restaurant.jfc:
+//   java -XX:StartFlightRecording:settings=restaurant.jfc,filename=game.jfr ...
+// Шаблон использования - new, begin(), работа, if (shouldCommit()) { поля; commit(); }:
+// пока запись выключена, shouldCommit() после JIT - константа false, а объект события
+// не покидает метод и не выделяется вовсе
+public final class GameEvents {
+    private static final String CATEGORY = "Restaurant";
+
+    private GameEvents() {
+    }
+
+    @Name("restaurant.SimulationTick")
+    @Label("Simulation Tick")
+    @Description("Один тик модели: терпение клиентов, кухня, отложенные действия")
+    @Category({CATEGORY, "Simulation"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class SimulationTick extends Event {
+        @Label("Tick")
+        public long tick;
+        @Label("Customers")
+        public int customers;
+        @Label("Kitchen Queue")
+        public int kitchenQueue;
+        @Label("Ready Shelf")
+        public int readyShelf;
+    }
+
+    @Name("restaurant.RenderFrame")
+    @Label("Render Frame")
+    @Description("Отрисовка и показ одного кадра GamePanel")
+    @Category({CATEGORY, "Rendering"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class RenderFrame extends Event {
+        @Label("Width")
+        public int width;
+        @Label("Height")
+        public int height;
+        @Label("Repaints")
+        @Description("Сколько раз кадр перерисован из-за потерянного буфера")
+        public int repaints;
+    }
+
+    @Name("restaurant.KitchenTicketCompleted")
+    @Label("Kitchen Ticket Completed")
+    @Category({CATEGORY, "Kitchen"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class KitchenTicketCompleted extends Event {
+        @Label("Ticket Id")
+        public long ticketId;
+        @Label("Dish")
+        public String dish;
+        @Label("Tick")
+        public long tick;
+    }
+
+    @Name("restaurant.CustomerExpired")
+    @Label("Customer Expired")
+    @Description("Клиент ушёл, не дождавшись заказа")
+    @Category({CATEGORY, "Simulation"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class CustomerExpired extends Event {
+        @Label("Customer Id")
+        public int customerId;
+        @Label("Tick")
+        public long tick;
+    }
+
+    @Name("restaurant.OrderPersisted")
+    @Label("Order Persisted")
+    @Description("Пакетная запись заказов в БД одной транзакцией")
+    @Category({CATEGORY, "Database"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class OrderPersisted extends Event {
+        @Label("Orders")
+        public int orders;
+        @Label("Success")
+        public boolean success;
+    }
+
+    @Name("restaurant.ListenerDispatch")
+    @Label("Listener Dispatch")
+    @Description("Доставка одного события модели всем подписчикам")
+    @Category({CATEGORY, "Simulation"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class ListenerDispatch extends Event {
+        @Label("Event Type")
+        public String eventType;
+        @Label("Subscribers")
+        public int subscribers;
+    }
+}
@@ -0,0 +1,109 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+// Метрики игры, которые можно не выключать в продакшене: время тика, кадра, доставки событий,
+// записи в БД, глубина очередей и число клиентов, ушедших за минуту игрового времени.
+// Запись - Histogram.record без аллокаций; -Drestaurant.metrics=false отключает её целиком.
+// Снаружи видно через MBean restaurant:type=GameMetrics и, по желанию, CSV раз в период:
+// -Drestaurant.metrics.csv=путь [-Drestaurant.metrics.csv.periodMs=10000]. Подключается start()
+public final class GameMetrics implements GameMetricsMXBean {
+    public static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty("restaurant.metrics"));
+    public static final String OBJECT_NAME = "restaurant:type=GameMetrics";
+
+    public static final Histogram TICK_NANOS = new Histogram("tick", "ns");
+    public static final Histogram FRAME_NANOS = new Histogram("frame", "ns");
+    public static final Histogram DISPATCH_NANOS = new Histogram("dispatch", "ns");
+    public static final Histogram DB_WRITE_NANOS = new Histogram("dbWrite", "ns");
+    public static final Histogram KITCHEN_QUEUE = new Histogram("kitchenQueue", "orders");
+    public static final Histogram READY_SHELF = new Histogram("readyShelf", "dishes");
+    public static final Histogram PERSIST_QUEUE = new Histogram("persistQueue", "orders");
+    public static final Histogram CUSTOMERS_LOST_PER_MINUTE = new Histogram("customersLostPerMinute", "customers");
+
+    private static final Histogram[] ALL = {
+            TICK_NANOS, FRAME_NANOS, DISPATCH_NANOS, DB_WRITE_NANOS,
+            KITCHEN_QUEUE, READY_SHELF, PERSIST_QUEUE, CUSTOMERS_LOST_PER_MINUTE
+    };
+    private static final AtomicBoolean started = new AtomicBoolean();
+
+    private GameMetrics() {
+    }
+
+    // MBean и CSV по системным свойствам. Повторный вызов ничего не делает
+    public static void start() {
+        if (!ENABLED || !started.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new GameMetrics(), new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            Log.error("❌ Не удалось зарегистрировать MBean метрик", e);
+        }
+
+        String csv = System.getProperty("restaurant.metrics.csv");
+        if (csv != null) {
+            long periodMs = Long.getLong("restaurant.metrics.csv.periodMs", 10_000);
+            Path path = Paths.get(csv);
+            ScheduledExecutorService dumper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "metrics-csv");
+                thread.setDaemon(true);
+                return thread;
+            });
+            dumper.scheduleAtFixedRate(() -> dumpCsv(path), periodMs, periodMs, TimeUnit.MILLISECONDS);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> dumpCsv(path), "metrics-csv-final"));
+            Log.info("✅ Метрики в CSV: {} раз в {} мс", path, periodMs);
+        }
+    }
+
+    // Дописывает по строке на гистограмму: накопленные значения с начала замера
+    static synchronized void dumpCsv(Path path) {
+        try {
+            boolean header = !Files.exists(path) || Files.size(path) == 0;
+            try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                if (header) {
+                    out.write("time,metric,unit,count,p50,p99,p999,max,mean\n");
+                }
+                String time = Instant.now().toString();
+                for (Histogram histogram : ALL) {
+                    HistogramSummary summary = new HistogramSummary(histogram);
+                    out.write(String.format(Locale.ROOT, "%s,%s,%s,%d,%d,%d,%d,%d,%.1f%n", time, histogram.getName(),
+                            summary.getUnit(), summary.getCount(), summary.getP50(), summary.getP99(), summary.getP999(),
+                            summary.getMax(), summary.getMean()));
+                }
+            }
+        } catch (IOException e) {
+            Log.error("❌ Ошибка записи метрик в {}", path, e);
+        }
+    }
+
+    public static void resetAll() {
+        for (Histogram histogram : ALL) {
+            histogram.reset();
+        }
+    }
+
+    @Override public HistogramSummary getTickNanos() { return new HistogramSummary(TICK_NANOS); }
+    @Override public HistogramSummary getFrameNanos() { return new HistogramSummary(FRAME_NANOS); }
+    @Override public HistogramSummary getDispatchNanos() { return new HistogramSummary(DISPATCH_NANOS); }
+    @Override public HistogramSummary getDbWriteNanos() { return new HistogramSummary(DB_WRITE_NANOS); }
+    @Override public HistogramSummary getKitchenQueueDepth() { return new HistogramSummary(KITCHEN_QUEUE); }
+    @Override public HistogramSummary getReadyShelfDepth() { return new HistogramSummary(READY_SHELF); }
+    @Override public HistogramSummary getPersistQueueDepth() { return new HistogramSummary(PERSIST_QUEUE); }
+    @Override public HistogramSummary getCustomersLostPerMinute() { return new HistogramSummary(CUSTOMERS_LOST_PER_MINUTE); }
+    @Override public long getLogDropped() { return Log.getDropped(); }
+    @Override public void reset() { resetAll(); }
+}
@@ -0,0 +1,16 @@
+// Атрибуты MBean restaurant:type=GameMetrics. Каждая гистограмма видна в jconsole/JMC
+// как составной атрибут: count, p50, p99, p999, max, mean
+public interface GameMetricsMXBean {
+    HistogramSummary getTickNanos();
+    HistogramSummary getFrameNanos();
+    HistogramSummary getDispatchNanos();
+    HistogramSummary getDbWriteNanos();
+    HistogramSummary getKitchenQueueDepth();
+    HistogramSummary getReadyShelfDepth();
+    HistogramSummary getPersistQueueDepth();
+    HistogramSummary getCustomersLostPerMinute();
+    long getLogDropped();
+
+    // Начать замер заново
+    void reset();
+}
@@ -1,76 +1,187 @@
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+// Методы ниже блокируют поток до ответа SQLite. Из EDT и потока симуляции -
+// только через асинхронные обёртки, которые выполняют их на IoExecutor
 public class GameRepository {
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    // Итог игры: дописать очередь заказов и сохранить результат.
+    // Ошибка БД завершает future исключением (CompletionException с SQLException внутри)
+    public static CompletableFuture<Void> saveGameResultAsync(String playerName, int score, int money) {
+        return IoExecutor.run(() -> {
+            flushOrders();
+            try {
+                insertGameResult(playerName, score, money);
+            } catch (SQLException e) {
+                Log.error("❌ Ошибка при сохранении результата игры:", e);
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    // Ошибка БД завершает future исключением, а не пустым списком
+    public static CompletableFuture<List<String>> loadTopResults() {
+        return IoExecutor.supply(() -> {
+            try {
+                return queryTopResults();
+            } catch (SQLException e) {
+                Log.error("❌ Ошибка при получении результатов:", e);
+                throw new CompletionException(e);
+            }
+        });
+    }
 
     public static void saveGameResult(String playerName, int score, int money) {
-        String sql = "INSERT INTO game_results (player_name, score, money, date_time) VALUES (?, ?, ?, ?)";
+        try {
+            insertGameResult(playerName, score, money);
+        } catch (SQLException e) {
+            Log.error("❌ Ошибка при сохранении результата игры:", e);
+        }
+    }
 
-        try (Connection conn = Database.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    private static void insertGameResult(String playerName, int score, int money) throws SQLException {
+        String sql = "INSERT INTO game_results (player_name, score, money, date_time) VALUES (?, ?, ?, ?)";
 
+        long start = System.nanoTime();
+        Database.write(conn -> {
+            PreparedStatement pstmt = conn.prepare(sql);
             pstmt.setString(1, playerName);
             pstmt.setInt(2, score);
             pstmt.setInt(3, money);
-            pstmt.setString(4, LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+            pstmt.setString(4, LocalDateTime.now().format(DATE_FORMAT));
+            return pstmt.executeUpdate();
+        });
+        if (GameMetrics.ENABLED) {
+            GameMetrics.DB_WRITE_NANOS.record(System.nanoTime() - start);
+        }
+        Log.info("✅ Результат игры сохранен в базе данных!");
+    }
 
-            pstmt.executeUpdate();
-            System.out.println("✅ Результат игры сохранен в базе данных!");
+    private static OrderWriter orderWriter;
 
-        } catch (SQLException e) {
-            System.out.println("❌ Ошибка при сохранении результата игры:");
-            e.printStackTrace();
+    // Заказы пишутся в фоне пачками, чтобы не тормозить игровой цикл
+    private static synchronized OrderWriter getOrderWriter() {
+        if (orderWriter == null) {
+            orderWriter = new OrderWriter();
+            Runtime.getRuntime().addShutdownHook(new Thread(orderWriter::close, "order-writer-shutdown"));
         }
+        return orderWriter;
     }
 
     // Метод сохранения заказа
     public static void saveOrder(String dishName, int price, Integer customerId, String status) {
-        String sql = "INSERT INTO orders (dish_name, price, customer_id, status, order_time) VALUES (?, ?, ?, ?, ?)";
+        getOrderWriter().submit(dishName, price, customerId, status);
+    }
 
-        try (Connection conn = Database.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    // Дописать в БД все заказы из очереди (конец игры, выход)
+    public static void flushOrders() {
+        OrderWriter writer;
+        synchronized (GameRepository.class) {
+            writer = orderWriter;
+        }
+        if (writer != null) {
+            writer.flush();
+        }
+    }
 
-            pstmt.setString(1, dishName);
-            pstmt.setInt(2, price);
-            if (customerId == null) {
-                pstmt.setNull(3, Types.INTEGER);
-            } else {
-                pstmt.setInt(3, customerId);
-            }
-            pstmt.setString(4, status);
-            pstmt.setString(5, LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+    // Пакетная вставка одной транзакцией. Вызывается потоком OrderWriter
+    static boolean saveOrders(List<OrderWriter.PendingOrder> orders) {
+        GameEvents.OrderPersisted event = new GameEvents.OrderPersisted();
+        event.begin();
+        boolean saved = writeOrders(orders);
+        if (event.shouldCommit()) {
+            event.orders = orders.size();
+            event.success = saved;
+            event.commit();
+        }
+        return saved;
+    }
 
-            pstmt.executeUpdate();
-            System.out.println("✅ Заказ сохранен в базе данных: " + dishName);
+    private static boolean writeOrders(List<OrderWriter.PendingOrder> orders) {
+        String sql = "INSERT INTO orders (dish_name, price, customer_id, status, order_time) VALUES (?, ?, ?, ?, ?)";
+
+        long start = System.nanoTime();
+        try {
+            Database.write(pooled -> {
+                Connection conn = pooled.getConnection();
+                PreparedStatement pstmt = pooled.prepare(sql);
+                conn.setAutoCommit(false);
+                try {
+                    for (OrderWriter.PendingOrder order : orders) {
+                        pstmt.setString(1, order.getDishName());
+                        pstmt.setInt(2, order.getPrice());
+                        if (order.getCustomerId() == null) {
+                            pstmt.setNull(3, Types.INTEGER);
+                        } else {
+                            pstmt.setInt(3, order.getCustomerId());
+                        }
+                        pstmt.setString(4, order.getStatus());
+                        pstmt.setString(5, order.getOrderTime().format(DATE_FORMAT));
+                        pstmt.addBatch();
+                    }
+                    pstmt.executeBatch();
+                    conn.commit();
+                } catch (SQLException e) {
+                    pstmt.clearBatch();
+                    conn.rollback();
+                    throw e;
+                } finally {
+                    conn.setAutoCommit(true);
+                }
+                return null;
+            });
+            if (GameMetrics.ENABLED) {
+                GameMetrics.DB_WRITE_NANOS.record(System.nanoTime() - start);
+            }
+            Log.debug("✅ Заказы сохранены в базе данных: {}", orders.size());
+            return true;
 
         } catch (SQLException e) {
-            System.out.println("❌ Ошибка при сохранении заказа:");
-            e.printStackTrace();
+            Log.error("❌ Ошибка при сохранении заказов:", e);
+            return false;
         }
     }
 
     public static void getAllGameResults() {
-        String sql = "SELECT * FROM game_results ORDER BY score DESC LIMIT 10";
-
-        try (Connection conn = Database.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            System.out.println("\n🏆 ТОП-10 РЕЗУЛЬТАТОВ:");
-            System.out.println("----------------------------------------");
-            while (rs.next()) {
-                System.out.printf("Игрок: %s | Счёт: %d | Деньги: $%d | Дата: %s%n",
-                        rs.getString("player_name"),
-                        rs.getInt("score"),
-                        rs.getInt("money"),
-                        rs.getString("date_time"));
-            }
-            System.out.println("----------------------------------------\n");
+        Log.info("🏆 ТОП-10 РЕЗУЛЬТАТОВ:");
+        for (String line : getTopResults()) {
+            Log.info(line);
+        }
+    }
 
+    // Топ-10 строками для вывода; при ошибке - пустой список
+    public static List<String> getTopResults() {
+        try {
+            return queryTopResults();
         } catch (SQLException e) {
-            System.out.println("❌ Ошибка при получении результатов:");
-            e.printStackTrace();
+            Log.error("❌ Ошибка при получении результатов:", e);
+            return new ArrayList<>();
         }
     }
+
+    private static List<String> queryTopResults() throws SQLException {
+        String sql = "SELECT * FROM game_results ORDER BY score DESC LIMIT 10";
+        List<String> lines = new ArrayList<>();
+
+        // Читатель из пула: в режиме WAL не ждёт фоновую запись заказов
+        Database.read(conn -> {
+            try (ResultSet rs = conn.prepare(sql).executeQuery()) {
+                while (rs.next()) {
+                    lines.add(String.format("Игрок: %s | Счёт: %d | Деньги: $%d | Дата: %s",
+                            rs.getString("player_name"),
+                            rs.getInt("score"),
+                            rs.getInt("money"),
+                            rs.getString("date_time")));
+                }
+            }
+            return null;
+        });
+        return lines;
+    }
 }
\ No newline at end of file
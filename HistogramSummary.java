@@ -0,0 +1,33 @@
+// Срез гистограммы для MBean и CSV
+public class HistogramSummary {
+    private final String unit;
+    private final long count;
+    private final long p50;
+    private final long p99;
+    private final long p999;
+    private final long max;
+    private final double mean;
+
+    public HistogramSummary(Histogram histogram) {
+        unit = histogram.getUnit();
+        count = histogram.getCount();
+        p50 = histogram.getValueAtPercentile(50);
+        p99 = histogram.getValueAtPercentile(99);
+        p999 = histogram.getValueAtPercentile(99.9);
+        max = histogram.getMax();
+        mean = histogram.getMean();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d p50=%d p99=%d p999=%d max=%d %s", count, p50, p99, p999, max, unit);
+    }
+
+    public String getUnit() { return unit; }
+    public long getCount() { return count; }
+    public long getP50() { return p50; }
+    public long getP99() { return p99; }
+    public long getP999() { return p999; }
+    public long getMax() { return max; }
+    public double getMean() { return mean; }
+}
@@ -0,0 +1,48 @@
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Исполнитель блокирующего ввода-вывода (JDBC, файлы) - чтобы ни EDT, ни поток симуляции не ждали диск.
+// Каждая задача - свой виртуальный поток, если JVM их умеет (Java 21+), иначе кэширующий пул фоновых потоков.
+// Ответ в Swing: IoExecutor.supply(...).thenAcceptAsync(..., SwingUtilities::invokeLater)
+public final class IoExecutor {
+    private static final ExecutorService EXECUTOR;
+    private static final boolean VIRTUAL;
+
+    static {
+        ExecutorService executor;
+        boolean virtual;
+        try {
+            // Через отражение - чтобы проект собирался и на Java 17
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            executor = (ExecutorService) factory.invoke(null);
+            virtual = true;
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger counter = new AtomicInteger();
+            executor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "blocking-io-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            virtual = false;
+        }
+        EXECUTOR = executor;
+        VIRTUAL = virtual;
+    }
+
+    private IoExecutor() {
+    }
+
+    public static <T> CompletableFuture<T> supply(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, EXECUTOR);
+    }
+
+    public static CompletableFuture<Void> run(Runnable task) {
+        return CompletableFuture.runAsync(task, EXECUTOR);
+    }
+
+    public static boolean isVirtual() { return VIRTUAL; }
+}
@@ -0,0 +1,230 @@
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+// Асинхронный журнал диагностики вместо System.out.println.
+// Уровень задаётся при запуске: -Drestaurant.log.level=debug|info|warn|error|off (по умолчанию info)
+// и лежит в static final - проверка if (Log.DEBUG) после JIT становится константой.
+// Сообщения с {} форматируются, только если уровень включён.
+// Вызывающий поток лишь кладёт строку в кольцевой буфер без блокировок, в консоль пачками пишет
+// фоновый поток "log-appender". Буфер полон - сообщение отбрасывается и попадает в счётчик getDropped()
+public final class Log {
+    public static final int LEVEL_DEBUG = 1;
+    public static final int LEVEL_INFO = 2;
+    public static final int LEVEL_WARN = 3;
+    public static final int LEVEL_ERROR = 4;
+    public static final int LEVEL_OFF = 5;
+
+    public static final int LEVEL = parseLevel(System.getProperty("restaurant.log.level", "info"));
+    public static final boolean DEBUG = LEVEL <= LEVEL_DEBUG;
+    public static final boolean INFO = LEVEL <= LEVEL_INFO;
+    public static final boolean WARN = LEVEL <= LEVEL_WARN;
+    public static final boolean ERROR = LEVEL <= LEVEL_ERROR;
+
+    private static final int CAPACITY = Integer.highestOneBit(Math.max(64, Integer.getInteger("restaurant.log.buffer", 8192)));
+    private static final int MASK = CAPACITY - 1;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final String[] LEVEL_NAMES = {"", "DEBUG", "INFO ", "WARN ", "ERROR"};
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    // Ограниченная очередь на последовательностях: слот свободен для позиции p, когда sequences[slot] == p,
+    // и заполнен, когда sequences[slot] == p + 1
+    private static final AtomicLongArray sequences = new AtomicLongArray(CAPACITY);
+    private static final String[] messages = new String[CAPACITY];
+    private static final String[] threads = new String[CAPACITY];
+    private static final Throwable[] errors = new Throwable[CAPACITY];
+    private static final long[] times = new long[CAPACITY];
+    private static final int[] levels = new int[CAPACITY];
+    private static final AtomicLong tail = new AtomicLong();
+    private static final AtomicLong dropped = new AtomicLong();
+    private static volatile long head; // пишет только поток вывода
+
+    static {
+        for (int i = 0; i < CAPACITY; i++) {
+            sequences.set(i, i);
+        }
+        if (LEVEL < LEVEL_OFF) {
+            Thread appender = new Thread(Log::appendLoop, "log-appender");
+            appender.setDaemon(true);
+            appender.start();
+            // System.exit не ждёт фоновые потоки - дописываем хвост сами
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(1000), "log-flush"));
+        }
+    }
+
+    private Log() {
+    }
+
+    private static int parseLevel(String name) {
+        switch (name.trim().toLowerCase()) {
+            case "debug": return LEVEL_DEBUG;
+            case "warn": return LEVEL_WARN;
+            case "error": return LEVEL_ERROR;
+            case "off": return LEVEL_OFF;
+            default: return LEVEL_INFO;
+        }
+    }
+
+    public static void debug(String message) {
+        if (DEBUG) offer(LEVEL_DEBUG, message, null);
+    }
+
+    public static void debug(String pattern, Object arg) {
+        if (DEBUG) offer(LEVEL_DEBUG, format(pattern, arg, null, null), null);
+    }
+
+    public static void debug(String pattern, Object arg1, Object arg2) {
+        if (DEBUG) offer(LEVEL_DEBUG, format(pattern, arg1, arg2, null), null);
+    }
+
+    public static void debug(String pattern, Object arg1, Object arg2, Object arg3) {
+        if (DEBUG) offer(LEVEL_DEBUG, format(pattern, arg1, arg2, arg3), null);
+    }
+
+    public static void info(String message) {
+        if (INFO) offer(LEVEL_INFO, message, null);
+    }
+
+    public static void info(String pattern, Object arg) {
+        if (INFO) offer(LEVEL_INFO, format(pattern, arg, null, null), null);
+    }
+
+    public static void info(String pattern, Object arg1, Object arg2) {
+        if (INFO) offer(LEVEL_INFO, format(pattern, arg1, arg2, null), null);
+    }
+
+    public static void warn(String message) {
+        if (WARN) offer(LEVEL_WARN, message, null);
+    }
+
+    public static void warn(String pattern, Object arg) {
+        if (WARN) offer(LEVEL_WARN, format(pattern, arg, null, null), null);
+    }
+
+    public static void warn(String pattern, Object arg1, Object arg2) {
+        if (WARN) offer(LEVEL_WARN, format(pattern, arg1, arg2, null), null);
+    }
+
+    public static void error(String message, Throwable error) {
+        if (ERROR) offer(LEVEL_ERROR, message, error);
+    }
+
+    public static void error(String pattern, Object arg, Throwable error) {
+        if (ERROR) offer(LEVEL_ERROR, format(pattern, arg, null, null), error);
+    }
+
+    // {} по порядку заменяются аргументами
+    static String format(String pattern, Object arg1, Object arg2, Object arg3) {
+        StringBuilder result = new StringBuilder(pattern.length() + 32);
+        int argIndex = 0;
+        int from = 0;
+        int at;
+        while ((at = pattern.indexOf("{}", from)) >= 0) {
+            result.append(pattern, from, at);
+            Object arg = argIndex == 0 ? arg1 : argIndex == 1 ? arg2 : arg3;
+            result.append(argIndex < 3 ? String.valueOf(arg) : "{}");
+            argIndex++;
+            from = at + 2;
+        }
+        return result.append(pattern, from, pattern.length()).toString();
+    }
+
+    private static void offer(int level, String message, Throwable error) {
+        long position = tail.get();
+        while (true) {
+            int slot = (int) (position & MASK);
+            long diff = sequences.get(slot) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = tail.get();
+            } else if (diff < 0) {
+                dropped.incrementAndGet(); // поток вывода не успевает - не ждём его
+                return;
+            } else {
+                position = tail.get();
+            }
+        }
+        int slot = (int) (position & MASK);
+        messages[slot] = message;
+        threads[slot] = Thread.currentThread().getName();
+        errors[slot] = error;
+        times[slot] = System.currentTimeMillis();
+        levels[slot] = level;
+        sequences.lazySet(slot, position + 1); // публикация слота
+    }
+
+    private static void appendLoop() {
+        StringBuilder batch = new StringBuilder(8192);
+        long reportedDrops = 0;
+        while (true) {
+            long position = head;
+            int written = 0;
+            while (written < CAPACITY) {
+                int slot = (int) (position & MASK);
+                if (sequences.get(slot) != position + 1) {
+                    break;
+                }
+                append(batch, slot);
+                messages[slot] = null;
+                errors[slot] = null;
+                sequences.lazySet(slot, position + CAPACITY); // слот снова свободен
+                position++;
+                written++;
+            }
+            long drops = dropped.get();
+            if (drops != reportedDrops) {
+                batch.append(TIME_FORMAT.format(Instant.now())).append(" WARN  [log-appender] Журнал отстаёт, пропущено сообщений: ")
+                        .append(drops - reportedDrops).append('\n');
+                reportedDrops = drops;
+            }
+            if (batch.length() > 0) {
+                PrintStream out = System.out; // берём каждый раз: бенчмарки подменяют System.out
+                out.print(batch);
+                out.flush();
+                batch.setLength(0);
+            }
+            head = position;
+            if (written == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private static void append(StringBuilder batch, int slot) {
+        batch.append(TIME_FORMAT.format(Instant.ofEpochMilli(times[slot])))
+                .append(' ').append(LEVEL_NAMES[levels[slot]])
+                .append(" [").append(threads[slot]).append("] ")
+                .append(messages[slot]).append('\n');
+        Throwable error = errors[slot];
+        if (error != null) {
+            StringWriter trace = new StringWriter();
+            error.printStackTrace(new PrintWriter(trace));
+            batch.append(trace);
+        }
+    }
+
+    // Ждёт, пока в консоль уйдёт всё, что было в буфере на момент вызова. false - не успели за timeoutMs
+    public static boolean flush(long timeoutMs) {
+        long target = tail.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (head < target) {
+            if (LEVEL == LEVEL_OFF || System.nanoTime() > deadline) {
+                return LEVEL == LEVEL_OFF;
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        return true;
+    }
+
+    public static long getDropped() { return dropped.get(); }
+    public static int getCapacity() { return CAPACITY; }
+}
@@ -0,0 +1,190 @@
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Отложенная (write-behind) запись заказов: игровой поток только кладёт строку в очередь,
+// фоновый поток пишет их пачками в одной транзакции
+public class OrderWriter {
+    public static final int DEFAULT_QUEUE_CAPACITY = 4096;
+    public static final int DEFAULT_FLUSH_SIZE = 256;
+    public static final long DEFAULT_FLUSH_INTERVAL_MS = 500;
+    public static final long DEFAULT_OFFER_TIMEOUT_MS = 20;
+
+    private final BlockingQueue<PendingOrder> queue;
+    private final int flushSize;
+    private final long flushIntervalMs;
+    private final long offerTimeoutMs;
+    private final Thread writerThread;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean closed; // меняется только под handoff
+    private final Object handoff = new Object(); // метку flush() кладём, только пока не закрыты
+
+    public OrderWriter() {
+        this(Integer.getInteger("restaurant.orders.queueCapacity", DEFAULT_QUEUE_CAPACITY),
+                Integer.getInteger("restaurant.orders.flushSize", DEFAULT_FLUSH_SIZE),
+                Long.getLong("restaurant.orders.flushIntervalMs", DEFAULT_FLUSH_INTERVAL_MS),
+                Long.getLong("restaurant.orders.offerTimeoutMs", DEFAULT_OFFER_TIMEOUT_MS));
+    }
+
+    public OrderWriter(int queueCapacity, int flushSize, long flushIntervalMs, long offerTimeoutMs) {
+        if (queueCapacity <= 0 || flushSize <= 0 || flushIntervalMs <= 0 || offerTimeoutMs < 0) {
+            throw new IllegalArgumentException("Некорректные параметры записи заказов");
+        }
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.flushSize = flushSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+
+        writerThread = new Thread(this::writeLoop, "order-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    // Неблокирующая в обычном режиме постановка в очередь. Если очередь полна -
+    // ждём до offerTimeoutMs (backpressure), после чего строка отбрасывается
+    public boolean submit(String dishName, int price, Integer customerId, String status) {
+        if (closed) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        PendingOrder order = new PendingOrder(dishName, price, customerId, status, System.currentTimeMillis(), null);
+        try {
+            if (queue.offer(order) || queue.offer(order, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long total = dropped.incrementAndGet();
+        Log.warn("❌ Очередь записи заказов переполнена, заказ не сохранён (всего потеряно: {})", total);
+        return false;
+    }
+
+    // Блокирует до тех пор, пока всё поставленное ранее не записано в БД.
+    // Метка попадает в очередь до closed = true, а поток записи перед выходом
+    // разбирает очередь целиком - так что ожидание всегда заканчивается
+    public void flush() {
+        CountDownLatch done = new CountDownLatch(1);
+        try {
+            synchronized (handoff) {
+                if (closed) {
+                    return;
+                }
+                queue.put(new PendingOrder(null, 0, null, null, 0, done));
+            }
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public void close() {
+        flush();
+        synchronized (handoff) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        writerThread.interrupt();
+    }
+
+    private void writeLoop() {
+        List<PendingOrder> batch = new ArrayList<>(flushSize);
+        while (!closed) {
+            try {
+                PendingOrder first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                // Копим пачку: либо до flushSize строк, либо до истечения интервала
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                PendingOrder next = first;
+                while (next != null) {
+                    if (next.flushed != null) {
+                        writeBatch(batch);
+                        next.flushed.countDown();
+                    } else {
+                        batch.add(next);
+                        if (batch.size() >= flushSize) {
+                            writeBatch(batch);
+                        }
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                }
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                if (closed) {
+                    break;
+                }
+            }
+        }
+        // Хвост после close(): дописать и отпустить всех, кто ждёт flush()
+        PendingOrder next;
+        while ((next = queue.poll()) != null) {
+            if (next.flushed != null) {
+                writeBatch(batch);
+                next.flushed.countDown();
+            } else {
+                batch.add(next);
+            }
+        }
+        writeBatch(batch);
+    }
+
+    private void writeBatch(List<PendingOrder> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (GameMetrics.ENABLED) {
+            GameMetrics.PERSIST_QUEUE.record(queue.size() + batch.size()); // сколько ждало записи
+        }
+        if (GameRepository.saveOrders(batch)) {
+            written.addAndGet(batch.size());
+        } else {
+            dropped.addAndGet(batch.size());
+        }
+        batch.clear();
+    }
+
+    public long getWrittenCount() { return written.get(); }
+    public long getDroppedCount() { return dropped.get(); }
+    public int getQueueSize() { return queue.size(); }
+
+    public static final class PendingOrder {
+        private final String dishName;
+        private final int price;
+        private final Integer customerId;
+        private final String status;
+        private final long orderTimeMillis;
+        private final CountDownLatch flushed; // не null - это метка flush(), а не заказ
+
+        PendingOrder(String dishName, int price, Integer customerId, String status,
+                             long orderTimeMillis, CountDownLatch flushed) {
+            this.dishName = dishName;
+            this.price = price;
+            this.customerId = customerId;
+            this.status = status;
+            this.orderTimeMillis = orderTimeMillis;
+            this.flushed = flushed;
+        }
+
+        public String getDishName() { return dishName; }
+        public int getPrice() { return price; }
+        public Integer getCustomerId() { return customerId; }
+        public String getStatus() { return status; }
+        public LocalDateTime getOrderTime() {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(orderTimeMillis), ZoneId.systemDefault());
+        }
+    }
+}
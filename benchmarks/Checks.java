@@ -0,0 +1,67 @@
+import java.util.Objects;
+
+// Самопроверки без внешних зависимостей (JUnit в проекте нет), рядом с бенчмарками.
+// Каждый набор - свой main: run() для каждого случая, в конце finish(), который
+// завершает процесс с кодом 1, если хоть одна проверка не прошла. Сборка - как у бенчмарков:
+//   java -cp out DeadlineHeapChecks
+public final class Checks {
+    public interface Body {
+        void run() throws Exception;
+    }
+
+    private static int passed;
+    private static int failed;
+
+    private Checks() {
+    }
+
+    public static void run(String name, Body body) {
+        try {
+            body.run();
+            passed++;
+            System.err.println("✅ " + name);
+        } catch (Throwable e) {
+            failed++;
+            System.err.println("❌ " + name + ": " + e);
+            e.printStackTrace();
+        }
+    }
+
+    public static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    public static void equal(long expected, long actual, String what) {
+        if (expected != actual) {
+            throw new AssertionError(what + ": ожидалось " + expected + ", получено " + actual);
+        }
+    }
+
+    public static void equal(Object expected, Object actual, String what) {
+        if (!Objects.equals(expected, actual)) {
+            throw new AssertionError(what + ": ожидалось " + expected + ", получено " + actual);
+        }
+    }
+
+    // Тело должно бросить исключение данного типа
+    public static void fails(Class<? extends Throwable> type, Body body, String what) {
+        try {
+            body.run();
+        } catch (Throwable e) {
+            if (type.isInstance(e)) {
+                return;
+            }
+            throw new AssertionError(what + ": ожидалось " + type.getSimpleName() + ", получено " + e, e);
+        }
+        throw new AssertionError(what + ": ожидалось " + type.getSimpleName() + ", но исключения не было");
+    }
+
+    public static void finish() {
+        System.err.println("Проверок: " + (passed + failed) + ", не прошло: " + failed);
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+}
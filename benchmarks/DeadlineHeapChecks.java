@@ -0,0 +1,72 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+// Проверки индексированной кучи дедлайнов: удаление из середины, перенос дедлайна, рост
+public class DeadlineHeapChecks {
+    public static void main(String[] args) {
+        Checks.run("удаление из середины сохраняет порядок", () -> {
+            DeadlineHeap heap = new DeadlineHeap(4);
+            long[] deadlines = {50, 10, 40, 20, 30, 60, 5};
+            for (int i = 0; i < deadlines.length; i++) {
+                heap.add(i, deadlines[i]);
+            }
+            Checks.check(heap.remove(4), "ключ 4 был в куче");
+            Checks.check(heap.remove(0), "ключ 0 был в куче");
+            Checks.check(!heap.remove(4), "повторное удаление - false");
+            Checks.check(!heap.contains(4), "удалённого ключа нет");
+            Checks.equal(5, heap.size(), "размер");
+
+            long[] expected = {5, 10, 20, 40, 60};
+            for (long deadline : expected) {
+                Checks.equal(deadline, heap.peekDeadline(), "минимум");
+                heap.poll();
+            }
+            Checks.check(heap.isEmpty(), "куча пуста");
+        });
+
+        Checks.run("перенос дедлайна через remove + add", () -> {
+            DeadlineHeap heap = new DeadlineHeap(8);
+            heap.add(1, 100);
+            heap.add(2, 200);
+            heap.add(3, 300);
+            heap.remove(3);
+            heap.add(3, 50);
+            Checks.equal(3, heap.peekHandle(), "раньше всех теперь ключ 3");
+            Checks.equal(50, heap.getDeadline(3), "новый дедлайн");
+        });
+
+        Checks.run("ключ нельзя добавить дважды", () -> {
+            DeadlineHeap heap = new DeadlineHeap(2);
+            heap.add(7, 1);
+            Checks.fails(IllegalStateException.class, () -> heap.add(7, 2), "повторный ключ");
+            Checks.fails(IllegalArgumentException.class, () -> heap.add(-1, 2), "отрицательный ключ");
+        });
+
+        Checks.run("случайные операции совпадают с сортировкой", () -> {
+            Random random = new Random(42);
+            DeadlineHeap heap = new DeadlineHeap(1);
+            List<long[]> reference = new ArrayList<>(); // {ключ, дедлайн}
+            for (int step = 0; step < 20_000; step++) {
+                int handle = random.nextInt(500);
+                if (heap.contains(handle)) {
+                    heap.remove(handle);
+                    reference.removeIf(entry -> entry[0] == handle);
+                } else {
+                    long deadline = random.nextInt(10_000);
+                    heap.add(handle, deadline);
+                    reference.add(new long[]{handle, deadline});
+                }
+            }
+            reference.sort(Comparator.comparingLong(entry -> entry[1]));
+            Checks.equal(reference.size(), heap.size(), "размер");
+            for (long[] entry : reference) {
+                Checks.equal(entry[1], heap.peekDeadline(), "дедлайн по порядку");
+                heap.poll();
+            }
+        });
+
+        Checks.finish();
+    }
+}
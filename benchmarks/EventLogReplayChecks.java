@@ -0,0 +1,66 @@
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// Проверки журнала смены: воспроизведение приходит к тому же итогу, в том числе когда
+// игрок обращается к клиенту, который ушёл, пока был открыт диалог (место свободно или занято другим)
+public class EventLogReplayChecks {
+    public static void main(String[] args) {
+        Checks.run("смена с устаревшими клиентами воспроизводится", () -> {
+            Path path = Files.createTempFile("restaurant", ".rlog");
+            try {
+                RestaurantModel model = new RestaurantModel(new RestaurantLayout(4, 3, 200, 180, 2), new SimRandom(5));
+                model.setPersistOrders(false);
+                model.setWinScore(Integer.MAX_VALUE);
+                model.startEventLog(path);
+                SimulationEngine engine = new SimulationEngine(model, SimulationEngine.UNLIMITED);
+                engine.addTickListener(new ShiftAutopilot(15));
+
+                // Как RestaurantController: вид клиента держится, пока игрок отвечает на диалог
+                List<Customer> held = new ArrayList<>();
+                int freeSlot = 0;
+                int takenSlot = 0;
+                for (int tick = 0; tick < 4000 && model.isGameRunning(); tick++) {
+                    for (Customer customer : model.getCustomers()) {
+                        if (!held.contains(customer)) {
+                            held.add(customer);
+                        }
+                    }
+                    for (int i = held.size() - 1; i >= 0; i--) {
+                        Customer stale = held.get(i);
+                        if (stale.isPresent()) {
+                            continue;
+                        }
+                        // Половину ответов придерживаем, пока место не займёт новый клиент
+                        if (model.getCustomerStore().getCustomer(stale.getId()) != null) {
+                            takenSlot++;
+                        } else if (freeSlot <= takenSlot) {
+                            freeSlot++;
+                        } else {
+                            continue;
+                        }
+                        Checks.check(!model.takeOrderFromCustomer(stale), "заказ ушедшего клиента не принят");
+                        Checks.check(!model.serveCustomer(stale), "ушедший клиент не обслужен");
+                        held.remove(i);
+                    }
+                    engine.step();
+                }
+                Checks.check(freeSlot > 0, "было обращение к свободному месту");
+                Checks.check(takenSlot > 0, "было обращение к месту, занятому другим клиентом");
+                model.closeEventLog();
+
+                EventLogReplay replay = new EventLogReplay(path);
+                RestaurantModel replayed = replay.replay();
+                Checks.check(replay.isFinalStateChecked(), "итог сверен");
+                Checks.equal(model.getCurrentTick(), replayed.getCurrentTick(), "тиков");
+                Checks.equal(model.getScore(), replayed.getScore(), "счёт");
+                Checks.equal(model.getMoney(), replayed.getMoney(), "деньги");
+            } finally {
+                Files.deleteIfExists(path);
+            }
+        });
+
+        Checks.finish();
+    }
+}
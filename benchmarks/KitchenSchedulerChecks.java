@@ -0,0 +1,90 @@
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Проверки кухни: порядок выдачи на плиту у FIFO / EDF / SJF, учёт метрик,
+// порядок поступления для отображения после того, как тикеты готовы не по порядку
+public class KitchenSchedulerChecks {
+    private static final long NO_CUSTOMER = Long.MAX_VALUE;
+
+    public static void main(String[] args) {
+        DishCatalog menu = new DishCatalog();
+        Dish slow = menu.add("Медленное", 10, Color.RED, 3);
+        Dish fast = menu.add("Быстрое", 10, Color.GREEN, 1);
+        Dish medium = menu.add("Среднее", 10, Color.BLUE, 2);
+        Dish waiter = menu.add("От официанта", 10, Color.GRAY, 1);
+
+        // Одна плита, все заказы пришли до первого тика - порядок готовности = порядок выдачи на плиту
+        Checks.run("FIFO - в порядке поступления", () ->
+                Checks.equal(List.of(slow, fast, medium, waiter),
+                        completionOrder(KitchenPolicy.FIFO, slow, fast, medium, waiter), "порядок"));
+
+        Checks.run("EDF - раньше тот, чей клиент раньше уйдёт, без клиента - последним", () ->
+                Checks.equal(List.of(fast, medium, slow, waiter),
+                        completionOrder(KitchenPolicy.EARLIEST_DEADLINE, slow, fast, medium, waiter), "порядок"));
+
+        Checks.run("SJF - сначала быстрые, при равенстве - по поступлению", () ->
+                Checks.equal(List.of(fast, waiter, medium, slow),
+                        completionOrder(KitchenPolicy.SHORTEST_JOB, slow, fast, medium, waiter), "порядок"));
+
+        Checks.run("метрики: ожидание, загрузка, отказы", () -> {
+            KitchenScheduler kitchen = new KitchenScheduler(4, 1, KitchenPolicy.FIFO);
+            addAll(kitchen, slow, fast, medium, waiter);
+            Checks.equal(-1, kitchen.add(fast, 0, NO_CUSTOMER), "пятый заказ не влез");
+            long tick = 0;
+            while (!kitchen.isEmpty()) {
+                kitchen.tick(tick++, (ticketId, dish) -> { });
+            }
+            KitchenMetrics metrics = kitchen.getMetrics();
+            // Плита: медленное 0-2, быстрое 3, среднее 4-5, официант 6
+            Checks.equal(7, tick, "тиков до пустой кухни");
+            Checks.equal(4, metrics.getStarted(), "начато");
+            Checks.equal(4, metrics.getCompleted(), "готово");
+            Checks.equal(1, metrics.getRejected(), "отказов");
+            Checks.equal(6, metrics.getMaxQueueWaitTicks(), "макс. ожидание");
+            Checks.equal((0 + 3 + 4 + 6) / 4.0, metrics.getAverageQueueWaitTicks(), "среднее ожидание");
+            Checks.equal(1.0, metrics.getUtilization(), "загрузка единственной плиты");
+        });
+
+        Checks.run("после готовых не по порядку кухня показывается в порядке поступления", () -> {
+            Random random = new Random(7);
+            Dish[] dishes = {slow, fast, medium, waiter};
+            KitchenScheduler kitchen = new KitchenScheduler(16, 3, KitchenPolicy.SHORTEST_JOB);
+            List<Long> expected = new ArrayList<>();
+            for (long tick = 0; tick < 2000; tick++) {
+                if (random.nextInt(3) == 0) {
+                    long ticketId = kitchen.add(dishes[random.nextInt(dishes.length)], tick, NO_CUSTOMER);
+                    if (ticketId > 0) {
+                        expected.add(ticketId);
+                    }
+                }
+                kitchen.tick(tick, (ticketId, dish) -> expected.remove(ticketId));
+                Checks.equal(expected.size(), kitchen.size(), "размер");
+                for (int i = 0; i < kitchen.size(); i++) {
+                    Checks.equal((long) expected.get(i), kitchen.ticketIdAt(i), "тикет на позиции " + i);
+                }
+            }
+        });
+
+        Checks.finish();
+    }
+
+    // Дедлайны клиентов: у быстрого - самый ранний, у официанта клиента нет
+    private static void addAll(KitchenScheduler kitchen, Dish slow, Dish fast, Dish medium, Dish waiter) {
+        kitchen.add(slow, 0, 500);
+        kitchen.add(fast, 0, 100);
+        kitchen.add(medium, 0, 300);
+        kitchen.add(waiter, 0, NO_CUSTOMER);
+    }
+
+    private static List<Dish> completionOrder(KitchenPolicy policy, Dish slow, Dish fast, Dish medium, Dish waiter) {
+        KitchenScheduler kitchen = new KitchenScheduler(8, 1, policy);
+        addAll(kitchen, slow, fast, medium, waiter);
+        List<Dish> completed = new ArrayList<>();
+        for (long tick = 0; !kitchen.isEmpty(); tick++) {
+            kitchen.tick(tick, (ticketId, dish) -> completed.add(dish));
+        }
+        return completed;
+    }
+}
@@ -0,0 +1,102 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Проверки двоичного снимка смены: восстановленная модель пишет снимок байт в байт
+// и дальше живёт так же, как исходная; обрезанный или чужой снимок отвергается
+public class ModelSnapshotChecks {
+    public static void main(String[] args) {
+        Checks.run("снимок занятой смены восстанавливается байт в байт", () -> {
+            RestaurantModel model = busyModel();
+            Checks.check(model.getKitchen().size() > 0, "на кухне есть тикеты");
+            Checks.check(model.getKitchen().getCookingCount() > 0, "что-то готовится");
+            Checks.check(model.getReadyShelf().size() > 0, "на полке есть блюда");
+            Checks.check(model.getScheduler().getPendingCount() > 0, "есть таймеры ухода");
+
+            byte[] data = ModelSnapshot.capture(model);
+            RestaurantModel restored = ModelSnapshot.restore(data);
+            Checks.check(Arrays.equals(data, ModelSnapshot.capture(restored)), "повторный снимок совпадает");
+            Checks.equal(dishIds(model.getReadyShelf().toList()), dishIds(restored.getReadyShelf().toList()), "полка");
+            Checks.equal(model.getScheduler().getPendingCount(), restored.getScheduler().getPendingCount(), "таймеры");
+            for (int i = 0; i < model.getKitchen().size(); i++) {
+                Checks.equal(model.getKitchen().ticketIdAt(i), restored.getKitchen().ticketIdAt(i), "тикет " + i);
+                Checks.equal(model.getKitchen().progressAt(i), restored.getKitchen().progressAt(i), "прогресс " + i);
+            }
+
+            // Дальше обе смены с одинаковыми действиями должны прийти в одно и то же состояние
+            drive(engine(model), new SimRandom(2), 3000);
+            drive(engine(restored), new SimRandom(2), 3000);
+            Checks.check(Arrays.equals(ModelSnapshot.capture(model), ModelSnapshot.capture(restored)),
+                    "после 3000 тиков снимки совпадают");
+        });
+
+        Checks.run("обрезанный снимок отвергается", () -> {
+            byte[] data = ModelSnapshot.capture(busyModel());
+            for (int length = 0; length < data.length; length++) {
+                byte[] truncated = Arrays.copyOf(data, length);
+                Checks.fails(IllegalArgumentException.class, () -> ModelSnapshot.restore(truncated),
+                        "длина " + length + " из " + data.length);
+            }
+        });
+
+        Checks.run("чужая версия, чужой формат и лишние байты отвергаются", () -> {
+            byte[] data = ModelSnapshot.capture(busyModel());
+            byte[] wrongVersion = data.clone();
+            wrongVersion[4] = (byte) (ModelSnapshot.VERSION + 1);
+            Checks.fails(IllegalArgumentException.class, () -> ModelSnapshot.restore(wrongVersion), "версия");
+            byte[] wrongMagic = data.clone();
+            wrongMagic[0] ^= 1;
+            Checks.fails(IllegalArgumentException.class, () -> ModelSnapshot.restore(wrongMagic), "заголовок");
+            byte[] trailing = Arrays.copyOf(data, data.length + 1);
+            Checks.fails(IllegalArgumentException.class, () -> ModelSnapshot.restore(trailing), "лишний байт");
+        });
+
+        Checks.finish();
+    }
+
+    // Смена, остановленная в момент, когда заняты кухня, полка и таймеры ухода
+    static RestaurantModel busyModel() {
+        RestaurantModel model = new RestaurantModel(new RestaurantLayout(4, 3, 200, 180, 2), new SimRandom(3),
+                new KitchenScheduler(12, 2, KitchenPolicy.EARLIEST_DEADLINE));
+        model.setPersistOrders(false);
+        model.setWinScore(Integer.MAX_VALUE);
+        SimulationEngine engine = engine(model);
+        SimRandom random = new SimRandom(1);
+        for (int tick = 0; tick < 100_000; tick++) {
+            drive(engine, random, 1);
+            if (tick > 500 && model.getKitchen().getCookingCount() > 0 && model.getReadyShelf().size() > 0
+                    && model.getScheduler().getPendingCount() > 0) {
+                return model;
+            }
+        }
+        throw new AssertionError("Смена так и не стала занятой");
+    }
+
+    // У каждой модели своё меню - сравниваем блюда по id
+    static List<Integer> dishIds(List<Dish> dishes) {
+        List<Integer> ids = new ArrayList<>();
+        for (Dish dish : dishes) {
+            ids.add(dish.getId());
+        }
+        return ids;
+    }
+
+    static SimulationEngine engine(RestaurantModel model) {
+        SimulationEngine engine = new SimulationEngine(model, SimulationEngine.UNLIMITED);
+        engine.addTickListener(new ShiftAutopilot(3));
+        return engine;
+    }
+
+    // Автопилот плюс случайные действия игрока; одинаковый генератор - одинаковые действия
+    static void drive(SimulationEngine engine, SimRandom random, int ticks) {
+        RestaurantModel model = engine.getModel();
+        int menuSize = model.getDishCatalog().size();
+        for (int tick = 0; tick < ticks && model.isGameRunning(); tick++) {
+            if (random.nextInt(10) == 0) model.movePlayer(random.nextInt(3) - 1, random.nextInt(3) - 1);
+            if (random.nextInt(50) == 0) model.cleanupTable(model.getTables().get(random.nextInt(model.getTables().size())));
+            if (random.nextInt(30) == 0) model.placeOrderInKitchen(model.getDishCatalog().get(random.nextInt(menuSize)));
+            if (random.nextInt(60) == 0) model.throwAwayDish();
+            engine.step();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+import java.awt.Color;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+// Проверки полки готовых блюд: ленивый пропуск забранных вне очереди, сжатие, снимок
+public class ReadyShelfChecks {
+    public static void main(String[] args) {
+        DishCatalog catalog = new DishCatalog();
+        Dish soup = catalog.add("Суп", 10, Color.RED);
+        Dish salad = catalog.add("Салат", 8, Color.GREEN);
+        Dish tea = catalog.add("Чай", 3, Color.ORANGE);
+
+        Checks.run("takeFirst пропускает блюдо, забранное по id", () -> {
+            ReadyShelf shelf = new ReadyShelf(catalog);
+            shelf.add(soup);
+            shelf.add(salad);
+            shelf.add(soup);
+            shelf.add(tea);
+            Checks.equal(soup, shelf.take(soup.getId()), "забрали суп по id");
+            Checks.equal(1, shelf.count(soup.getId()), "супов осталось");
+            Checks.equal(3, shelf.size(), "размер");
+            Checks.equal(List.of(salad, soup, tea), shelf.toList(), "видимый порядок");
+
+            Checks.equal(salad, shelf.takeFirst(), "первым - салат, ранний суп пропущен");
+            Checks.equal(soup, shelf.takeFirst(), "затем второй суп");
+            Checks.equal(tea, shelf.takeFirst(), "затем чай");
+            Checks.equal(null, shelf.takeFirst(), "полка пуста");
+            Checks.equal(null, shelf.take(tea.getId()), "чая больше нет");
+        });
+
+        Checks.run("выборочное взятие сжимает очередь и не теряет порядок", () -> {
+            ReadyShelf shelf = new ReadyShelf(catalog);
+            List<Dish> expected = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                shelf.add(salad);
+                shelf.add(i % 3 == 0 ? tea : soup);
+                if (i % 3 == 0) {
+                    expected.add(tea);
+                }
+                Checks.equal(salad, shelf.take(salad.getId()), "салат по id");
+                if (i % 3 != 0) {
+                    Checks.equal(soup, shelf.take(soup.getId()), "суп по id");
+                }
+            }
+            Checks.equal(expected.size(), shelf.size(), "остался только чай");
+            Checks.equal(expected, shelf.toList(), "содержимое");
+            for (Dish dish : expected) {
+                Checks.equal(dish, shelf.takeFirst(), "по порядку");
+            }
+            Checks.check(shelf.isEmpty(), "полка пуста");
+        });
+
+        Checks.run("copyFirst не меняет пропуски", () -> {
+            ReadyShelf shelf = new ReadyShelf(catalog);
+            shelf.add(tea);
+            shelf.add(soup);
+            shelf.add(tea);
+            shelf.take(tea.getId());
+            Dish[] out = new Dish[4];
+            Checks.equal(2, shelf.copyFirst(out, 4), "записано");
+            Checks.equal(2, shelf.copyFirst(out, 4), "повторно записано");
+            Checks.equal(soup, out[0], "первое видимое");
+            Checks.equal(tea, out[1], "второе видимое");
+            Checks.equal(soup, shelf.takeFirst(), "takeFirst после copyFirst");
+        });
+
+        Checks.run("снимок хранит только видимые блюда", () -> {
+            ReadyShelf shelf = new ReadyShelf(catalog);
+            shelf.add(soup);
+            shelf.add(salad);
+            shelf.add(soup);
+            shelf.take(soup.getId());
+            ByteBuffer buffer = ByteBuffer.allocate(64);
+            shelf.writeState(buffer);
+            buffer.flip();
+            ReadyShelf restored = new ReadyShelf(catalog);
+            restored.readState(buffer);
+            Checks.equal(shelf.toList(), restored.toList(), "восстановленная полка");
+            Checks.equal(shelf.size(), restored.size(), "размер");
+        });
+
+        Checks.run("блюдо не из меню отвергается", () ->
+                Checks.fails(IllegalArgumentException.class,
+                        () -> new ReadyShelf(catalog).add(new DishCatalog().add("Чужое", 1, Color.BLACK)), "чужое блюдо"));
+
+        Checks.finish();
+    }
+}
@@ -0,0 +1,336 @@
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import jmh.RestaurantCases;
+import jmh.Workload;
+
+// Состояния и операции для бенчмарков JMH из пакета jmh (ModelBenchmarks, ControllerBenchmarks,
+// ChainBenchmarks, PersistenceBenchmarks, RenderBenchmarks). Здесь, в пакете по умолчанию, -
+// потому что JMH не берёт бенчмарки из пакета по умолчанию, а игра лежит именно в нём.
+// Сборка и запуск (из корня проекта):
+//   mvn -B package
+//   java -jar benchmarks/target/benchmarks.jar [regex] -rf json -rff results.json
+public class RestaurantBenchmarks implements RestaurantCases {
+    static {
+        System.setProperty("java.awt.headless", "true"); // GamePanel и контроллер без экрана
+    }
+
+    // Большой зал: 100x100 столов по 2 места - 20 000 клиентов
+    static final RestaurantLayout LARGE_VENUE = new RestaurantLayout(100, 100, 120, 120, 2);
+    // Толпа на весь 4K-холст: 33x17 столов с шагом 100
+    static final RestaurantLayout CROWD = new RestaurantLayout(33, 17, 100, 100, 1);
+
+    static RestaurantModel newModel() {
+        return newModel(RestaurantLayout.DEFAULT);
+    }
+
+    static RestaurantModel newModel(RestaurantLayout layout) {
+        RestaurantModel model = new RestaurantModel(layout);
+        model.setPersistOrders(false);
+        return model;
+    }
+
+    // Модель с клиентами, часть из которых уже сделала заказ
+    static RestaurantModel busyModel(int customers, int ordered) {
+        return busyModel(RestaurantLayout.DEFAULT, customers, ordered);
+    }
+
+    static RestaurantModel busyModel(RestaurantLayout layout, int customers, int ordered) {
+        RestaurantModel model = newModel(layout);
+        for (int i = 0; i < customers; i++) {
+            model.addCustomer();
+        }
+        List<Customer> list = new ArrayList<>(model.getCustomers());
+        for (int i = 0; i < ordered && i < list.size(); i++) {
+            model.takeOrderFromCustomer(list.get(i));
+        }
+        return model;
+    }
+
+    // Смена, прогнанная автопилотом с частым приходом клиентов, без досрочной победы
+    static RestaurantModel warmedModel(RestaurantLayout layout, int ticks) {
+        RestaurantModel model = new RestaurantModel(layout, new SimRandom(42));
+        model.setPersistOrders(false);
+        model.setWinScore(Integer.MAX_VALUE);
+        SimulationEngine engine = new SimulationEngine(model, SimulationEngine.UNLIMITED);
+        engine.addTickListener(new ShiftAutopilot(3));
+        engine.run(ticks);
+        return model;
+    }
+
+    private byte[] warmedShift;
+    private final byte[][] venueSnapshots = new byte[2][];
+    private final RenderSnapshot snapshotSink = new RenderSnapshot();
+
+    @Override
+    public int fastestCookTicks() {
+        int fastest = Integer.MAX_VALUE;
+        for (Dish dish : newModel().getMenu()) {
+            fastest = Math.min(fastest, dish.getCookTicks());
+        }
+        return fastest;
+    }
+
+    @Override
+    public Workload updateCustomers(int customers, int kitchenQueue) {
+        return tick(busyModel(customers, kitchenQueue));
+    }
+
+    @Override
+    public Workload updateCustomersLargeVenue() {
+        return tick(busyModel(LARGE_VENUE, LARGE_VENUE.getSeatCount(), 0));
+    }
+
+    // Тик "разогретой" смены - полный зал, очередь на кухне, таймеры ухода - из снимка, а не с нуля
+    @Override
+    public Workload updateCustomersWarmed() {
+        if (warmedShift == null) {
+            warmedShift = ModelSnapshot.capture(warmedModel(RestaurantLayout.DEFAULT, 2000));
+        }
+        return tick(ModelSnapshot.restore(warmedShift));
+    }
+
+    private static Workload tick(RestaurantModel model) {
+        return index -> {
+            model.updateCustomers();
+            return model;
+        };
+    }
+
+    @Override
+    public Workload readyShelfTake(int shelfSize) {
+        RestaurantModel model = newModel();
+        List<Dish> menu = model.getMenu();
+        ReadyShelf shelf = model.getReadyShelf();
+        for (int i = 0; i < shelfSize; i++) {
+            shelf.add(menu.get(i % menu.size()));
+        }
+        int menuSize = menu.size();
+        return index -> {
+            Dish dish = shelf.take(index % menuSize);
+            shelf.add(dish);
+            return dish;
+        };
+    }
+
+    @Override
+    public Workload placeOrderInKitchen() {
+        RestaurantModel model = newModel();
+        Dish salad = model.getMenu().get(2);
+        return index -> model.placeOrderInKitchen(salad);
+    }
+
+    @Override
+    public Workload takeOrderFromCustomer() {
+        RestaurantModel model = busyModel(6, 0);
+        List<Customer> customers = new ArrayList<>(model.getCustomers());
+        return index -> model.takeOrderFromCustomer(customers.get(index));
+    }
+
+    @Override
+    public Workload serveCustomer() {
+        RestaurantModel model = busyModel(6, 6);
+        // Шесть блюд на трёх плитах - не больше двух заходов по 14 тиков
+        for (int t = 0; t < 30; t++) {
+            model.updateCustomers();
+        }
+        List<Customer> customers = new ArrayList<>(model.getCustomers());
+        return index -> {
+            Customer customer = customers.get(index);
+            model.takeSpecificDishFromKitchen(customer.getCurrentOrder().getDish());
+            return model.serveCustomer(customer);
+        };
+    }
+
+    // Снимок смены: захват в потоке модели и восстановление - обычный зал и 20 000 мест
+    @Override
+    public Workload snapshotCapture(boolean largeVenue) {
+        RestaurantModel warmed = ModelSnapshot.restore(venueSnapshot(largeVenue));
+        return index -> ModelSnapshot.capture(warmed);
+    }
+
+    @Override
+    public Workload snapshotRestore(boolean largeVenue) {
+        byte[] snapshot = venueSnapshot(largeVenue);
+        return index -> ModelSnapshot.restore(snapshot);
+    }
+
+    private byte[] venueSnapshot(boolean largeVenue) {
+        int venue = largeVenue ? 1 : 0;
+        if (venueSnapshots[venue] == null) {
+            venueSnapshots[venue] = ModelSnapshot.capture(
+                    warmedModel(largeVenue ? LARGE_VENUE : RestaurantLayout.DEFAULT, 2000));
+        }
+        return venueSnapshots[venue];
+    }
+
+    @Override
+    public Workload findInteractionTarget(String target) {
+        RestaurantModel model = busyModel(6, 0);
+        RestaurantController controller = new RestaurantController(model);
+        Player player = model.getPlayer();
+        switch (target) {
+            case "lastCustomer":
+                Table lastTable = model.getTables().get(model.getTables().size() - 1);
+                player.setX(lastTable.getX());
+                player.setY(lastTable.getY());
+                break;
+            case "none":
+                player.setX(500);
+                player.setY(650);
+                break;
+            default:
+                throw new IllegalArgumentException("Неизвестная цель: " + target);
+        }
+        return index -> controller.findInteractionTarget(player);
+    }
+
+    @Override
+    public Workload spatialGridNearest(int objects) {
+        int side = (int) Math.sqrt(objects);
+        SpatialGrid grid = new SpatialGrid(side * 100, side * 100, 64);
+        for (int i = 0; i < objects; i++) {
+            grid.add(new Table(50 + (i % side) * 100, 50 + (i / side) * 100, i));
+        }
+        int[] probes = new int[1024];
+        Random random = new Random(42);
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = random.nextInt(side * 100);
+        }
+        return index -> grid.nearest(Table.class, probes[index & 1023], probes[(index + 7) & 1023], 60, null);
+    }
+
+    @Override
+    public Workload chainRun(ForkJoinPool pool, int restaurants, int ticks) {
+        RestaurantChain chain = new RestaurantChain(restaurants, RestaurantLayout.DEFAULT, 40);
+        chain.setWinScore(Integer.MAX_VALUE);
+        return index -> chain.run(pool, ticks);
+    }
+
+    @Override
+    public boolean openDatabase() throws Exception {
+        try {
+            Class.forName("org.sqlite.JDBC");
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+        File dbFile = File.createTempFile("restaurant-bench", ".db");
+        dbFile.deleteOnExit();
+        System.setProperty("restaurant.db.url", "jdbc:sqlite:" + dbFile.getAbsolutePath());
+        Database.initDatabase();
+        return true;
+    }
+
+    @Override
+    public void closeDatabase() {
+        GameRepository.flushOrders();
+        Log.flush(1000);
+        Database.close();
+    }
+
+    private static final String INSERT_ORDER =
+            "INSERT INTO orders (dish_name, price, customer_id, status, order_time) VALUES (?, ?, ?, ?, ?)";
+
+    @Override
+    public Workload saveOrder(String mode) {
+        switch (mode) {
+            case "connectionPerRow":
+                return index -> {
+                    try (java.sql.Connection conn = Database.getConnection();
+                         java.sql.PreparedStatement pstmt = conn.prepareStatement(INSERT_ORDER)) {
+                        pstmt.setString(1, "Пицца");
+                        pstmt.setInt(2, 50);
+                        pstmt.setInt(3, index);
+                        pstmt.setString(4, "бенчмарк");
+                        pstmt.setString(5, "2025-01-01 00:00:00");
+                        return pstmt.executeUpdate();
+                    }
+                };
+            case "pooledRow":
+                return index -> Database.write(conn -> {
+                    java.sql.PreparedStatement pstmt = conn.prepare(INSERT_ORDER);
+                    pstmt.setString(1, "Пицца");
+                    pstmt.setInt(2, 50);
+                    pstmt.setInt(3, index);
+                    pstmt.setString(4, "бенчмарк");
+                    pstmt.setString(5, "2025-01-01 00:00:00");
+                    return pstmt.executeUpdate();
+                });
+            case "writeBehind":
+                return index -> {
+                    GameRepository.saveOrder("Пицца", 50, index, "бенчмарк");
+                    return null;
+                };
+            default:
+                throw new IllegalArgumentException("Неизвестный режим записи: " + mode);
+        }
+    }
+
+    @Override
+    public Workload saveOrders(int rows) {
+        List<OrderWriter.PendingOrder> batch = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            batch.add(new OrderWriter.PendingOrder("Пицца", 50, i, "бенчмарк", System.currentTimeMillis(), null));
+        }
+        return index -> {
+            GameRepository.saveOrders(batch);
+            return null;
+        };
+    }
+
+    @Override
+    public Workload renderSnapshotCapture(boolean largeVenue) {
+        RestaurantModel model = largeVenue
+                ? busyModel(LARGE_VENUE, LARGE_VENUE.getSeatCount(), 0)
+                : busyModel(6, 4);
+        return index -> {
+            snapshotSink.capture(model, index, 0.5, 50_000_000L);
+            return snapshotSink;
+        };
+    }
+
+    @Override
+    public Workload render(int width, int height, String caches) {
+        RestaurantModel model = busyModel(6, 4);
+        for (int t = 0; t < 5; t++) {
+            model.updateCustomers();
+        }
+        GamePanel panel = panel(width, height, caches);
+        panel.setBackgroundCacheEnabled(!caches.equals("none"));
+        return frame(panel, model, width, height);
+    }
+
+    @Override
+    public Workload renderCrowd(int customers, String caches) {
+        if (customers > CROWD.getSeatCount()) {
+            throw new IllegalArgumentException("В зале " + CROWD.getSeatCount() + " мест, а не " + customers);
+        }
+        return frame(panel(3840, 2160, caches), busyModel(CROWD, customers, customers / 2), 3840, 2160);
+    }
+
+    private static GamePanel panel(int width, int height, String caches) {
+        if (!caches.equals("none") && !caches.equals("background") && !caches.equals("all")) {
+            throw new IllegalArgumentException("Неизвестный режим кэшей: " + caches);
+        }
+        GamePanel panel = new GamePanel();
+        panel.setSize(width, height);
+        panel.setSpriteCacheEnabled(caches.equals("all"));
+        return panel;
+    }
+
+    private static Workload frame(GamePanel panel, RestaurantModel model, int width, int height) {
+        RenderSnapshot snapshot = new RenderSnapshot();
+        snapshot.capture(model, 0, 1.0, 0);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        return index -> {
+            panel.render(g, snapshot, 1.0);
+            return image;
+        };
+    }
+}
@@ -0,0 +1,67 @@
+import java.util.ArrayList;
+import java.util.List;
+
+// Проверки колеса таймеров: отмена из середины корзины, обход колеса больше чем на оборот
+public class TimingWheelChecks {
+    public static void main(String[] args) {
+        Checks.run("отмена таймера из середины корзины", () -> {
+            TimingWheel wheel = new TimingWheel(8);
+            List<String> fired = new ArrayList<>();
+            wheel.schedule(3, () -> fired.add("a"));
+            TimingWheel.Timeout middle = wheel.schedule(3, () -> fired.add("b"));
+            wheel.schedule(3, () -> fired.add("c"));
+            Checks.check(middle.cancel(), "отмена ожидающего таймера");
+            Checks.check(!middle.cancel(), "повторная отмена - false");
+            Checks.equal(2, wheel.getPendingCount(), "ожидающих после отмены");
+
+            for (int i = 0; i < 3; i++) {
+                wheel.advance();
+            }
+            Checks.equal(List.of("a", "c"), fired, "сработали");
+            Checks.check(middle.isCancelled() && !middle.isExpired(), "отменённый не сработал");
+            Checks.equal(0, wheel.getPendingCount(), "колесо пусто");
+        });
+
+        Checks.run("таймер дальше одного оборота ждёт свой тик", () -> {
+            TimingWheel wheel = new TimingWheel(8);
+            long[] firedAt = {-1, -1, -1};
+            wheel.schedule(20, () -> firedAt[0] = wheel.getCurrentTick());
+            wheel.schedule(8, () -> firedAt[1] = wheel.getCurrentTick());  // та же корзина, что и текущий тик
+            wheel.schedule(4, () -> firedAt[2] = wheel.getCurrentTick());  // корзина 4, как и у тика 20
+            for (int i = 0; i < 19; i++) {
+                wheel.advance();
+            }
+            Checks.equal(-1, firedAt[0], "через 19 тиков таймер на 20 ещё ждёт");
+            Checks.equal(8, firedAt[1], "таймер через полный оборот");
+            Checks.equal(4, firedAt[2], "таймер в корзине, через которую прошли дважды");
+            wheel.advance();
+            Checks.equal(20, firedAt[0], "таймер на 20");
+            Checks.check(!wheel.schedule(1, () -> { }).isExpired(), "новый таймер не сработал сразу");
+        });
+
+        Checks.run("задача, планирующая таймер в ту же корзину", () -> {
+            TimingWheel wheel = new TimingWheel(4);
+            List<Long> fired = new ArrayList<>();
+            wheel.schedule(1, () -> {
+                fired.add(wheel.getCurrentTick());
+                wheel.schedule(4, () -> fired.add(wheel.getCurrentTick())); // ровно оборот спустя
+            });
+            for (int i = 0; i < 5; i++) {
+                wheel.advance();
+            }
+            Checks.equal(List.of(1L, 5L), fired, "тики срабатывания");
+        });
+
+        Checks.run("отмена после срабатывания и нулевая задержка", () -> {
+            TimingWheel wheel = new TimingWheel(8);
+            TimingWheel.Timeout timeout = wheel.schedule(0, () -> { });
+            Checks.equal(1, timeout.getDeadline(), "задержка не меньше тика");
+            wheel.advance();
+            Checks.check(timeout.isExpired(), "сработал");
+            Checks.check(!timeout.cancel(), "сработавший не отменяется");
+            Checks.fails(IllegalArgumentException.class, () -> new TimingWheel(6), "размер не степень двойки");
+        });
+
+        Checks.finish();
+    }
+}
@@ -0,0 +1,20 @@
+package jmh;
+
+// Реализация RestaurantCases из пакета по умолчанию - по имени, один раз на JVM
+final class Cases {
+    private static RestaurantCases instance;
+
+    private Cases() {
+    }
+
+    static synchronized RestaurantCases get() {
+        if (instance == null) {
+            try {
+                instance = (RestaurantCases) Class.forName("RestaurantBenchmarks").getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("RestaurantBenchmarks не найден в classpath", e);
+            }
+        }
+        return instance;
+    }
+}
@@ -0,0 +1,61 @@
+package jmh;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Масштабирование сети по потокам: одинаковая работа (256 смен по 1000 тиков без досрочной победы),
+// время на всю сеть должно падать почти пропорционально числу ядер
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChainBenchmarks {
+    @State(Scope.Thread)
+    public static class Chain {
+        @Param({"256"})
+        public int restaurants;
+        @Param({"1000"})
+        public int ticks;
+        @Param({"1", "2", "4", "8", "16"})
+        public int threads;
+
+        ForkJoinPool pool;
+        Workload workload;
+
+        @Setup(Level.Trial)
+        public void startPool() {
+            pool = new ForkJoinPool(threads);
+        }
+
+        // Сеть после прогона уже другая - новая на каждый вызов; вызов длится сотни миллисекунд
+        @Setup(Level.Invocation)
+        public void setUp() {
+            workload = Cases.get().chainRun(pool, restaurants, ticks);
+        }
+
+        @TearDown(Level.Trial)
+        public void stopPool() {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public Object run(Chain state) throws Exception {
+        return state.workload.run(0);
+    }
+}
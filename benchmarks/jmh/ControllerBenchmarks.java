@@ -0,0 +1,62 @@
+package jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Поиск объекта рядом с официантом: RestaurantController.interactWithObject и сетка зала
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ControllerBenchmarks {
+    @State(Scope.Thread)
+    public static class Interaction {
+        @Param({"lastCustomer", "none"})
+        public String target;
+
+        Workload workload;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            workload = Cases.get().findInteractionTarget(target);
+        }
+    }
+
+    // Большой зал: поиск ближайшего не должен зависеть от числа объектов
+    @State(Scope.Thread)
+    public static class Grid {
+        @Param({"1000", "100000"})
+        public int objects;
+
+        Workload workload;
+        int index;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            workload = Cases.get().spatialGridNearest(objects);
+        }
+    }
+
+    @Benchmark
+    public Object interactWithObject(Interaction state) throws Exception {
+        return state.workload.run(0);
+    }
+
+    @Benchmark
+    public Object spatialGridNearest(Grid state) throws Exception {
+        return state.workload.run(state.index++);
+    }
+}
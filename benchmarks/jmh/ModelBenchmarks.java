@@ -0,0 +1,235 @@
+package jmh;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Тик модели, кухня, обслуживание, снимок смены
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBenchmarks {
+    // Тиков на одно состояние - меньше, чем готовится самое быстрое блюдо: ни одно не выйдет
+    // на полку, и на всех замеренных тиках кухня только готовит. Проверяется в checkTicks
+    static final int TICKS = 4;
+    static final int CUSTOMERS = 6;
+    static final int WAITER_ORDERS = 3; // на стартовые деньги хватает трёх салатов
+    // Состояние меняется от каждой операции, поэтому собирается заново на каждый вызов. Один вызов
+    // на одной смене - десятки наносекунд, на уровне точности таймера; вызов берёт пачку смен
+    static final int SHIFTS = 64;
+
+    static void checkTicks() {
+        if (TICKS >= Cases.get().fastestCookTicks()) {
+            throw new IllegalStateException("За " + TICKS + " тиков блюда успевают приготовиться");
+        }
+    }
+
+    static Workload[] shifts(Supplier<Workload> fixture) {
+        Workload[] shifts = new Workload[SHIFTS];
+        for (int i = 0; i < SHIFTS; i++) {
+            shifts[i] = fixture.get();
+        }
+        return shifts;
+    }
+
+    // Зал без заказов
+    @State(Scope.Thread)
+    public static class Tick {
+        @Param({"0", "3", "6"})
+        public int customers;
+
+        Workload[] shifts;
+
+        @Setup(Level.Trial)
+        public void check() {
+            checkTicks();
+        }
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            shifts = shifts(() -> Cases.get().updateCustomers(customers, 0));
+        }
+    }
+
+    // Полный зал, kitchenQueue заказов уже на кухне
+    @State(Scope.Thread)
+    public static class KitchenTick {
+        @Param({"3", "6"})
+        public int kitchenQueue;
+
+        Workload[] shifts;
+
+        @Setup(Level.Trial)
+        public void check() {
+            checkTicks();
+        }
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            shifts = shifts(() -> Cases.get().updateCustomers(CUSTOMERS, kitchenQueue));
+        }
+    }
+
+    // 20 000 клиентов: один вызов и так длится микросекунды, пачка не нужна
+    @State(Scope.Thread)
+    public static class LargeVenueTick {
+        Workload[] shifts;
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            shifts = new Workload[]{Cases.get().updateCustomersLargeVenue()};
+        }
+    }
+
+    // Полный зал, очередь на кухне, таймеры ухода - из снимка разогретой смены
+    @State(Scope.Thread)
+    public static class WarmedTick {
+        Workload[] shifts;
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            shifts = shifts(() -> Cases.get().updateCustomersWarmed());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Shelf {
+        @Param({"10", "10000"})
+        public int shelf;
+
+        Workload workload;
+        int index;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            workload = Cases.get().readyShelfTake(shelf);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class WaiterOrders {
+        Workload[] shifts;
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            shifts = shifts(() -> Cases.get().placeOrderInKitchen());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class CustomerOrders {
+        Workload[] shifts;
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            shifts = shifts(() -> Cases.get().takeOrderFromCustomer());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ReadyOrders {
+        Workload[] shifts;
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            shifts = shifts(() -> Cases.get().serveCustomer());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Snapshot {
+        @Param({"default", "large"})
+        public String venue;
+
+        Workload capture;
+        Workload restore;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            capture = Cases.get().snapshotCapture(venue.equals("large"));
+            restore = Cases.get().snapshotRestore(venue.equals("large"));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SHIFTS * TICKS)
+    public void updateCustomers(Tick state, Blackhole blackhole) throws Exception {
+        run(state.shifts, TICKS, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SHIFTS * TICKS)
+    public void updateCustomersWithKitchenQueue(KitchenTick state, Blackhole blackhole) throws Exception {
+        run(state.shifts, TICKS, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TICKS)
+    public void updateCustomersLargeVenue(LargeVenueTick state, Blackhole blackhole) throws Exception {
+        run(state.shifts, TICKS, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SHIFTS * TICKS)
+    public void updateCustomersWarmed(WarmedTick state, Blackhole blackhole) throws Exception {
+        run(state.shifts, TICKS, blackhole);
+    }
+
+    static void run(Workload[] shifts, int operations, Blackhole blackhole) throws Exception {
+        for (Workload shift : shifts) {
+            for (int i = 0; i < operations; i++) {
+                blackhole.consume(shift.run(i));
+            }
+        }
+    }
+
+    // Взять конкретное блюдо и вернуть такое же: цена не должна зависеть от размера полки
+    @Benchmark
+    public Object readyShelfTake(Shelf state) throws Exception {
+        return state.workload.run(state.index++);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SHIFTS * WAITER_ORDERS)
+    public void placeOrderInKitchen(WaiterOrders state, Blackhole blackhole) throws Exception {
+        run(state.shifts, WAITER_ORDERS, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SHIFTS * CUSTOMERS)
+    public void takeOrderFromCustomer(CustomerOrders state, Blackhole blackhole) throws Exception {
+        run(state.shifts, CUSTOMERS, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SHIFTS * CUSTOMERS)
+    public void serveCustomer(ReadyOrders state, Blackhole blackhole) throws Exception {
+        run(state.shifts, CUSTOMERS, blackhole);
+    }
+
+    @Benchmark
+    public Object snapshotCapture(Snapshot state) throws Exception {
+        return state.capture.run(0);
+    }
+
+    @Benchmark
+    public Object snapshotRestore(Snapshot state) throws Exception {
+        return state.restore.run(0);
+    }
+}
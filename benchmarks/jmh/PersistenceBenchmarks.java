@@ -0,0 +1,80 @@
+package jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Запись заказов в SQLite (временный файл): строка за строкой, пачкой и через очередь write-behind
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersistenceBenchmarks {
+    @State(Scope.Benchmark)
+    public static class Db {
+        @Setup(Level.Trial)
+        public void open() throws Exception {
+            if (!Cases.get().openDatabase()) {
+                throw new IllegalStateException("sqlite-jdbc не найден в classpath");
+            }
+        }
+
+        // Дописывает очередь write-behind и закрывает соединения
+        @TearDown(Level.Trial)
+        public void close() {
+            Cases.get().closeDatabase();
+        }
+    }
+
+    // connectionPerRow - как было раньше: новое соединение и autocommit на каждую строку;
+    // pooledRow - одно соединение писателя; writeBehind - цена для игрового потока, только постановка в очередь
+    @State(Scope.Thread)
+    public static class Rows {
+        @Param({"connectionPerRow", "pooledRow", "writeBehind"})
+        public String mode;
+
+        Workload workload;
+        int index;
+
+        @Setup(Level.Trial)
+        public void setUp(Db db) {
+            workload = Cases.get().saveOrder(mode);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Batch {
+        @Param({"256"})
+        public int rowsPerOp;
+
+        Workload workload;
+
+        @Setup(Level.Trial)
+        public void setUp(Db db) {
+            workload = Cases.get().saveOrders(rowsPerOp);
+        }
+    }
+
+    @Benchmark
+    public Object saveOrder(Rows state) throws Exception {
+        return state.workload.run(state.index++);
+    }
+
+    @Benchmark
+    public Object saveOrders(Batch state) throws Exception {
+        return state.workload.run(0);
+    }
+}
@@ -0,0 +1,87 @@
+package jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Снимок для отрисовки и кадр GamePanel в BufferedImage, без окна
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderBenchmarks {
+    // Стоимость снятия снимка на тике - её платит симуляция, а не рендерер
+    @State(Scope.Thread)
+    public static class Capture {
+        @Param({"default", "large"})
+        public String venue;
+
+        Workload workload;
+        int index;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            workload = Cases.get().renderSnapshotCapture(venue.equals("large"));
+        }
+    }
+
+    // caches: none - всё примитивами, background - кэш статического слоя, all - ещё и спрайты
+    @State(Scope.Thread)
+    public static class Frame {
+        @Param({"1000x700", "3840x2160"})
+        public String size;
+        @Param({"none", "background", "all"})
+        public String caches;
+
+        Workload workload;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            String[] wh = size.split("x");
+            workload = Cases.get().render(Integer.parseInt(wh[0]), Integer.parseInt(wh[1]), caches);
+        }
+    }
+
+    // Толпа на весь 4K-холст: зал 33x17 столов с шагом 100, 561 - все места
+    @State(Scope.Thread)
+    public static class Crowd {
+        @Param({"6", "561"})
+        public int customers;
+        @Param({"background", "all"})
+        public String caches;
+
+        Workload workload;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            workload = Cases.get().renderCrowd(customers, caches);
+        }
+    }
+
+    @Benchmark
+    public Object renderSnapshotCapture(Capture state) throws Exception {
+        return state.workload.run(state.index++);
+    }
+
+    @Benchmark
+    public Object render(Frame state) throws Exception {
+        return state.workload.run(0);
+    }
+
+    @Benchmark
+    public Object renderCrowd(Crowd state) throws Exception {
+        return state.workload.run(0);
+    }
+}
@@ -0,0 +1,39 @@
+package jmh;
+
+import java.util.concurrent.ForkJoinPool;
+
+// Состояния для бенчмарков. JMH не принимает бенчмарки в пакете по умолчанию, а из пакета jmh
+// нельзя обратиться к классам игры напрямую - поэтому игра видна бенчмаркам только через этот
+// интерфейс, а реализует его RestaurantBenchmarks в пакете по умолчанию (см. Cases).
+// Каждый вызов строит новое состояние - это делается вне замера
+public interface RestaurantCases {
+    int fastestCookTicks();
+
+    // Модель: customers клиентов, из них kitchenQueue уже сделали заказ
+    Workload updateCustomers(int customers, int kitchenQueue);
+    Workload updateCustomersLargeVenue();
+    Workload updateCustomersWarmed();
+    Workload readyShelfTake(int shelfSize);
+    Workload placeOrderInKitchen();
+    Workload takeOrderFromCustomer(); // 6 клиентов без заказа
+    Workload serveCustomer();         // 6 клиентов, заказы готовы
+    Workload snapshotCapture(boolean largeVenue);
+    Workload snapshotRestore(boolean largeVenue);
+
+    // Поиск цели взаимодействия: lastCustomer / none
+    Workload findInteractionTarget(String target);
+    Workload spatialGridNearest(int objects);
+
+    Workload chainRun(ForkJoinPool pool, int restaurants, int ticks);
+
+    // БД во временном файле; false - sqlite-jdbc нет в classpath
+    boolean openDatabase() throws Exception;
+    void closeDatabase();
+    // connectionPerRow / pooledRow / writeBehind
+    Workload saveOrder(String mode);
+    Workload saveOrders(int rows);
+
+    Workload renderSnapshotCapture(boolean largeVenue);
+    Workload render(int width, int height, String caches); // caches: none / background / all
+    Workload renderCrowd(int customers, String caches);
+}
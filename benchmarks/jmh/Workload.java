@@ -0,0 +1,7 @@
+package jmh;
+
+// Замеряемая операция над уже подготовленным состоянием; index - номер операции на этом состоянии.
+// Результат (или null) уходит в Blackhole, чтобы JIT не выбросил работу
+public interface Workload {
+    Object run(int index) throws Exception;
+}
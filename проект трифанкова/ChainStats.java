@@ -0,0 +1,58 @@
+import java.util.concurrent.atomic.LongAdder;
+
+// Итоги сети ресторанов. Рестораны досчитывают свои смены параллельно и
+// складывают результат сюда без блокировок - LongAdder не даёт потокам толкаться на одном счётчике
+public class ChainStats {
+    private final LongAdder restaurants = new LongAdder();
+    private final LongAdder ticks = new LongAdder();
+    private final LongAdder customersArrived = new LongAdder();
+    private final LongAdder customersLost = new LongAdder();
+    private final LongAdder ordersServed = new LongAdder();
+    private final LongAdder money = new LongAdder();
+    private final LongAdder won = new LongAdder();
+    private final LongAdder lost = new LongAdder();
+
+    void addShift(long shiftTicks, long arrived, long customersLeft, long served, long shiftMoney, boolean isWon, boolean isLost) {
+        restaurants.increment();
+        ticks.add(shiftTicks);
+        customersArrived.add(arrived);
+        customersLost.add(customersLeft);
+        ordersServed.add(served);
+        money.add(shiftMoney);
+        if (isWon) {
+            won.increment();
+        } else if (isLost) {
+            lost.increment();
+        }
+    }
+
+    public void reset() {
+        restaurants.reset();
+        ticks.reset();
+        customersArrived.reset();
+        customersLost.reset();
+        ordersServed.reset();
+        money.reset();
+        won.reset();
+        lost.reset();
+    }
+
+    public long getRestaurants() { return restaurants.sum(); }
+    public long getTicks() { return ticks.sum(); }
+    public long getCustomersArrived() { return customersArrived.sum(); }
+    public long getCustomersLost() { return customersLost.sum(); }
+    public long getOrdersServed() { return ordersServed.sum(); }
+    public long getMoney() { return money.sum(); }
+    public long getWon() { return won.sum(); }
+    public long getLost() { return lost.sum(); }
+
+    @Override
+    public String toString() {
+        long arrived = getCustomersArrived();
+        return String.format("Ресторанов: %d | Побед: %d | Поражений: %d | Тиков: %d%n"
+                        + "Клиентов: %d | Обслужено: %d | Ушли без блюда: %d (%.1f%%) | Касса сети: %d$",
+                getRestaurants(), getWon(), getLost(), getTicks(),
+                arrived, getOrdersServed(), getCustomersLost(), arrived == 0 ? 0 : getCustomersLost() * 100.0 / arrived,
+                getMoney());
+    }
+}
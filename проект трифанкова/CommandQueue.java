@@ -0,0 +1,147 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Очередь команд к модели: менять модель может только поток симуляции.
+// Любой поток (EDT, бот, сеть) кладёт команду через submit/execute и получает CompletableFuture
+// с результатом; поток симуляции применяет накопившиеся команды пачкой в начале тика (SimulationEngine.step).
+// Без блокировок: много писателей - один читатель, писатель занимает хвост одним getAndSet
+public class CommandQueue {
+    public static final int MAX_BATCH = 256; // за тик; остальное - на следующем тике
+
+    // Команда с результатом: изменение модели или запрос к ней
+    public interface Command<R> {
+        R apply(RestaurantModel model);
+    }
+
+    // Команда без результата
+    public interface Action {
+        void apply(RestaurantModel model);
+    }
+
+    private static final VarHandle NEXT;
+
+    static {
+        try {
+            NEXT = MethodHandles.lookup().findVarHandle(Node.class, "next", Node.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static class Node<R> {
+        Command<R> command;
+        CompletableFuture<R> result;
+        @SuppressWarnings("unused") // через NEXT
+        Node<?> next;
+
+        Node(Command<R> command, CompletableFuture<R> result) {
+            this.command = command;
+            this.result = result;
+        }
+
+        void fail(RuntimeException error) {
+            CompletableFuture<R> result = this.result;
+            this.command = null;
+            this.result = null;
+            if (result != null) {
+                result.completeExceptionally(error);
+            }
+        }
+
+        void run(RestaurantModel model) {
+            Command<R> command = this.command;
+            CompletableFuture<R> result = this.result;
+            this.command = null; // узел остаётся заглушкой головы - не держим команду
+            this.result = null;
+            try {
+                result.complete(command.apply(model));
+            } catch (RuntimeException e) {
+                Log.error("❌ Ошибка в команде модели", e);
+                result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private final AtomicReference<Node<?>> tail;
+    private Node<?> head; // заглушка; трогает только поток симуляции
+    private long applied;
+    private volatile boolean closed;
+
+    public CommandQueue() {
+        head = new Node<>(null, null);
+        tail = new AtomicReference<>(head);
+    }
+
+    // Из любого потока. Продолжения future без явного исполнителя выполнятся в потоке симуляции -
+    // для Swing нужен thenAcceptAsync(..., SwingUtilities::invokeLater)
+    public <R> CompletableFuture<R> submit(Command<R> command) {
+        CompletableFuture<R> result = new CompletableFuture<>();
+        if (closed) {
+            result.completeExceptionally(stopped());
+            return result;
+        }
+        Node<R> node = new Node<>(command, result);
+        Node<?> previous = tail.getAndSet(node);
+        NEXT.setRelease(previous, node); // до этой записи читатель видит хвост пустым и заберёт узел на следующем тике
+        // close() мог проверить хвост до нашего getAndSet - тогда узел никто не разберёт
+        if (closed) {
+            result.completeExceptionally(stopped());
+        }
+        return result;
+    }
+
+    public CompletableFuture<Void> execute(Action action) {
+        return submit(model -> {
+            action.apply(model);
+            return null;
+        });
+    }
+
+    // Только из потока симуляции. Возвращает число применённых команд
+    public int drain(RestaurantModel model) {
+        int count = 0;
+        while (count < MAX_BATCH) {
+            Node<?> next = (Node<?>) NEXT.getAcquire(head);
+            if (next == null) {
+                break;
+            }
+            head = next;
+            next.run(model);
+            count++;
+        }
+        applied += count;
+        return count;
+    }
+
+    // Только из потока симуляции, когда он больше не будет разбирать очередь: всё, что не успело
+    // примениться, и всё, что придёт потом, завершается IllegalStateException - никто не ждёт вечно
+    public void close() {
+        closed = true;
+        IllegalStateException error = stopped();
+        while (true) {
+            Node<?> next = (Node<?>) NEXT.getAcquire(head);
+            if (next != null) {
+                head = next;
+                next.fail(error);
+            } else if (tail.get() == head) {
+                return;
+            } else {
+                Thread.onSpinWait(); // писатель занял хвост, но ещё не прицепил узел
+            }
+        }
+    }
+
+    private static IllegalStateException stopped() {
+        return new IllegalStateException("Симуляция остановлена, команда не выполнена");
+    }
+
+    // Только из потока симуляции
+    public boolean isEmpty() {
+        return NEXT.getAcquire(head) == null;
+    }
+
+    public long getApplied() { return applied; }
+    public boolean isClosed() { return closed; }
+}
@@ -1,48 +1,71 @@
 import java.awt.*;
 
+// Тонкое "окно" в CustomerStore: само состояние клиента лежит в массивах хранилища.
+// После ухода клиента слот может занять другой - тогда старый объект отвязывается
+// и возвращает пустое состояние, а не чужие данные.
 public class Customer extends GameObject {
-    private Color color;
-    private int patience;
-    private int maxPatience;
-    private Dish desiredDish;
-    private Order currentOrder;
-    private boolean served;
-
-    public Customer(int id) {
-        super(200 + (id % 3) * 200, 150 + (id / 3) * 180);
-        this.color = getRandomClothingColor();
-        this.maxPatience = 600; // УВЕЛИЧИЛ в 2 раза (было 300)
-        this.patience = maxPatience;
-        this.served = false;
-    }
-
-    private Color getRandomClothingColor() {
-        Color[] clothingColors = {
-                new Color(65, 105, 225),   // Royal Blue
-                new Color(220, 20, 60),    // Crimson
-                new Color(46, 139, 87),    // Sea Green
-                new Color(148, 0, 211),    // Dark Violet
-                new Color(255, 140, 0),    // Dark Orange
-                new Color(178, 34, 34),    // Firebrick
-                new Color(30, 144, 255),   // Dodger Blue
-                new Color(50, 205, 50)     // Lime Green
-        };
-        return clothingColors[(int)(Math.random() * clothingColors.length)];
-    }
-
-    public void updatePatience() {
-        if (patience > 0 && !served) {
-            patience -= 1; // Уменьшаем медленнее
+    private final CustomerStore store;
+    private final int slot; // номер места, переиспользуется после ухода клиента
+    private final int generation;
+
+    Customer(CustomerStore store, int slot, int generation) {
+        super(store.getX(slot), store.getY(slot));
+        this.store = store;
+        this.slot = slot;
+        this.generation = generation;
+    }
+
+    public boolean isPresent() {
+        return store.getGeneration(slot) == generation;
+    }
+
+    public int getPatience(long currentTick) {
+        return isPresent() ? store.getPatience(slot, currentTick) : 0;
+    }
+
+    public void serve(long currentTick) {
+        if (isPresent()) {
+            store.serve(slot, currentTick);
         }
     }
 
-    public Color getColor() { return color; }
-    public int getPatience() { return patience; }
-    public int getMaxPatience() { return maxPatience; }
-    public Dish getDesiredDish() { return desiredDish; }
-    public void setDesiredDish(Dish desiredDish) { this.desiredDish = desiredDish; }
-    public Order getCurrentOrder() { return currentOrder; }
-    public void setCurrentOrder(Order currentOrder) { this.currentOrder = currentOrder; }
-    public boolean isServed() { return served; }
-    public void setServed(boolean served) { this.served = served; }
-}
\ No newline at end of file
+    public int getId() { return slot; }
+    public Color getColor() { return store.getColor(slot); }
+    public long getPatienceDeadline() { return store.getPatienceDeadline(slot); }
+    public int getMaxPatience() { return CustomerStore.MAX_PATIENCE; }
+
+    public Dish getDesiredDish() {
+        return isPresent() ? store.dish(store.getDishId(slot)) : null;
+    }
+
+    public void setDesiredDish(Dish desiredDish) {
+        if (isPresent()) {
+            store.setDishId(slot, store.dishIdOf(desiredDish));
+        }
+    }
+
+    // Заказ собирается из массивов при каждом вызове
+    public Order getCurrentOrder() {
+        if (!isPresent() || store.getOrderState(slot) != CustomerStore.ORDERED) {
+            return null;
+        }
+        Order order = new Order(this, store.dish(store.getDishId(slot)));
+        order.setTicketId(store.getTicketId(slot));
+        return order;
+    }
+
+    public void setCurrentOrder(Order currentOrder) {
+        if (!isPresent()) {
+            return;
+        }
+        if (currentOrder == null) {
+            store.clearOrder(slot);
+        } else {
+            store.setOrder(slot, store.dishIdOf(currentOrder.getDish()), currentOrder.getTicketId());
+        }
+    }
+
+    public boolean isServed() {
+        return isPresent() && store.getOrderState(slot) == CustomerStore.SERVED;
+    }
+}
@@ -1,8 +1,13 @@
+// Неизменяемое событие: поля клиента копируются в момент события, а не читаются
+// из живого Customer - асинхронный подписчик видит то же, что и синхронный
 public class CustomerEvent extends RestaurantEvent {
-    private Customer customer;
-    public CustomerEvent(Object source, Customer customer) {
-        super(source);
-        this.customer = customer;
+    private final int customerId;
+    private final Dish desiredDish;
+    public CustomerEvent(Object source, RestaurantEventType<CustomerEvent> type, Customer customer) {
+        super(source, type);
+        this.customerId = customer.getId();
+        this.desiredDish = customer.getDesiredDish();
     }
-    public Customer getCustomer() { return customer; }
+    public int getCustomerId() { return customerId; }
+    public Dish getDesiredDish() { return desiredDish; }
 }
\ No newline at end of file
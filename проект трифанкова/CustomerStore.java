@@ -0,0 +1,227 @@
+import java.awt.*;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.List;
+
+// Состояние всех клиентов в параллельных массивах примитивов (structure of arrays).
+// Номер слота = номер места в зале, освободившиеся слоты переиспользуются через стек свободных.
+// Customer - лишь тонкое "окно" в эти массивы для прежнего API.
+public class CustomerStore {
+    public static final int MAX_PATIENCE = 600; // тиков, при 20 тиках/с - полминуты
+
+    // Состояние заказа
+    public static final byte WAITING = 0; // ещё не сделал заказ
+    public static final byte ORDERED = 1;
+    public static final byte SERVED = 2;
+
+    static final Color[] CLOTHING_COLORS = {
+            new Color(65, 105, 225),   // Royal Blue
+            new Color(220, 20, 60),    // Crimson
+            new Color(46, 139, 87),    // Sea Green
+            new Color(148, 0, 211),    // Dark Violet
+            new Color(255, 140, 0),    // Dark Orange
+            new Color(178, 34, 34),    // Firebrick
+            new Color(30, 144, 255),   // Dodger Blue
+            new Color(50, 205, 50)     // Lime Green
+    };
+
+    private final DishCatalog menu;
+    private final int capacity;
+
+    private final int[] x;
+    private final int[] y;
+    private final long[] patienceDeadline; // тик, на котором терпение закончится
+    private final int[] servedPatience;    // терпение, застывшее в момент обслуживания
+    private final int[] dishId;            // -1 - ничего не хочет
+    private final byte[] orderState;
+    private final long[] ticketId;
+    private final byte[] colorIndex;
+    private final int[] generation;        // меняется при освобождении слота - так Customer узнаёт, что клиент ушёл
+    private final Customer[] views;
+
+    private final int[] freeSlots;
+    private int freeCount;
+
+    // Занятые слоты подряд, удаление - перестановкой последнего на место удалённого
+    private final int[] active;
+    private final int[] activeIndex;
+    private int activeCount;
+    private final List<Customer> activeCustomers = new AbstractList<>() {
+        @Override
+        public Customer get(int index) {
+            if (index < 0 || index >= activeCount) {
+                throw new IndexOutOfBoundsException("Клиент " + index + " из " + activeCount);
+            }
+            return views[active[index]];
+        }
+
+        @Override
+        public int size() {
+            return activeCount;
+        }
+    };
+
+    public CustomerStore(RestaurantLayout layout, DishCatalog menu) {
+        this.menu = menu;
+        this.capacity = layout.getSeatCount();
+        x = new int[capacity];
+        y = new int[capacity];
+        patienceDeadline = new long[capacity];
+        servedPatience = new int[capacity];
+        dishId = new int[capacity];
+        orderState = new byte[capacity];
+        ticketId = new long[capacity];
+        colorIndex = new byte[capacity];
+        generation = new int[capacity];
+        views = new Customer[capacity];
+        freeSlots = new int[capacity];
+        active = new int[capacity];
+        activeIndex = new int[capacity];
+
+        for (int slot = 0; slot < capacity; slot++) {
+            x[slot] = layout.getSeatX(slot);
+            y[slot] = layout.getSeatY(slot);
+            freeSlots[freeCount++] = capacity - 1 - slot; // первым выдаётся слот 0
+        }
+    }
+
+    // null - свободных мест нет
+    public Customer add(long arrivalTick, int dish, int color) {
+        if (freeCount == 0) {
+            return null;
+        }
+        int slot = freeSlots[--freeCount];
+        patienceDeadline[slot] = arrivalTick + MAX_PATIENCE;
+        servedPatience[slot] = 0;
+        dishId[slot] = dish;
+        orderState[slot] = WAITING;
+        ticketId[slot] = 0;
+        colorIndex[slot] = (byte) color;
+
+        activeIndex[slot] = activeCount;
+        active[activeCount++] = slot;
+
+        Customer customer = new Customer(this, slot, generation[slot]);
+        views[slot] = customer;
+        return customer;
+    }
+
+    public void release(int slot) {
+        if (views[slot] == null) {
+            return;
+        }
+        views[slot] = null;
+        generation[slot]++;
+
+        int index = activeIndex[slot];
+        int last = active[--activeCount];
+        active[index] = last;
+        activeIndex[last] = index;
+
+        freeSlots[freeCount++] = slot;
+    }
+
+    // Терпение считается при чтении из дедлайна, а не уменьшается каждый тик
+    public int getPatience(int slot, long currentTick) {
+        if (orderState[slot] == SERVED) {
+            return servedPatience[slot];
+        }
+        return (int) Math.max(0, patienceDeadline[slot] - currentTick);
+    }
+
+    public void serve(int slot, long currentTick) {
+        servedPatience[slot] = getPatience(slot, currentTick);
+        orderState[slot] = SERVED;
+    }
+
+    void setOrder(int slot, int dish, long ticket) {
+        dishId[slot] = dish;
+        ticketId[slot] = ticket;
+        orderState[slot] = ORDERED;
+    }
+
+    void clearOrder(int slot) {
+        if (orderState[slot] == ORDERED) {
+            orderState[slot] = WAITING;
+            ticketId[slot] = 0;
+        }
+    }
+
+    void setDishId(int slot, int dish) {
+        dishId[slot] = dish;
+    }
+
+    int dishIdOf(Dish dish) {
+        return menu.idOf(dish);
+    }
+
+    Dish dish(int dishId) {
+        return menu.get(dishId);
+    }
+
+    // Снимок для ModelSnapshot: порядок свободных и занятых слотов сохраняется,
+    // чтобы после восстановления клиенты садились на те же места
+    void writeState(ByteBuffer out) {
+        Varint.put(out, capacity);
+        Varint.put(out, freeCount);
+        for (int i = 0; i < freeCount; i++) {
+            Varint.put(out, freeSlots[i]);
+        }
+        Varint.put(out, activeCount);
+        for (int i = 0; i < activeCount; i++) {
+            int slot = active[i];
+            Varint.put(out, slot);
+            Varint.put(out, patienceDeadline[slot]);
+            Varint.put(out, servedPatience[slot]);
+            Varint.putSigned(out, dishId[slot]);
+            out.put(orderState[slot]);
+            Varint.put(out, ticketId[slot]);
+            out.put(colorIndex[slot]);
+        }
+    }
+
+    // Только в пустое хранилище той же вместимости
+    void readState(ByteBuffer in) {
+        int savedCapacity = Varint.getInt(in);
+        if (savedCapacity != capacity || activeCount != 0) {
+            throw new IllegalStateException("Снимок на " + savedCapacity + " мест, в зале " + capacity);
+        }
+        freeCount = Varint.getInt(in);
+        for (int i = 0; i < freeCount; i++) {
+            freeSlots[i] = Varint.getInt(in);
+        }
+        int count = Varint.getInt(in);
+        for (int i = 0; i < count; i++) {
+            int slot = Varint.getInt(in);
+            patienceDeadline[slot] = Varint.get(in);
+            servedPatience[slot] = Varint.getInt(in);
+            dishId[slot] = Varint.getSignedInt(in);
+            orderState[slot] = in.get();
+            ticketId[slot] = Varint.get(in);
+            colorIndex[slot] = in.get();
+            activeIndex[slot] = activeCount;
+            active[activeCount++] = slot;
+            views[slot] = new Customer(this, slot, generation[slot]);
+        }
+    }
+
+    // Все клиенты в зале; порядок меняется при уходе клиентов
+    public List<Customer> getCustomers() { return activeCustomers; }
+    public Customer getCustomer(int slot) { return views[slot]; }
+    public int size() { return activeCount; }
+    public int getCapacity() { return capacity; }
+    public boolean isFull() { return freeCount == 0; }
+
+    // Проход по занятым слотам без объектов Customer: for (i < size()) slot = activeSlot(i)
+    public int activeSlot(int index) { return active[index]; }
+
+    public int getX(int slot) { return x[slot]; }
+    public int getY(int slot) { return y[slot]; }
+    public long getPatienceDeadline(int slot) { return patienceDeadline[slot]; }
+    public int getDishId(int slot) { return dishId[slot]; }
+    public byte getOrderState(int slot) { return orderState[slot]; }
+    public long getTicketId(int slot) { return ticketId[slot]; }
+    public int getColorIndex(int slot) { return colorIndex[slot]; }
+    public Color getColor(int slot) { return CLOTHING_COLORS[colorIndex[slot]]; }
+    int getGeneration(int slot) { return generation[slot]; }
+}
@@ -0,0 +1,154 @@
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Индексированная min-куча дедлайнов по целочисленным ключам (номер клиента и т.п.).
+// Добавление, удаление по ключу и извлечение минимума - O(log n), без упаковки в объекты
+public class DeadlineHeap {
+    private long[] deadlines;
+    private int[] handles;
+    private int[] positions; // позиция ключа в куче, -1 - нет в куче
+    private int size;
+
+    public DeadlineHeap(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        deadlines = new long[capacity];
+        handles = new int[capacity];
+        positions = new int[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    public void add(int handle, long deadline) {
+        if (handle < 0) {
+            throw new IllegalArgumentException("Ключ не может быть отрицательным: " + handle);
+        }
+        ensureHandle(handle);
+        if (positions[handle] >= 0) {
+            throw new IllegalStateException("Ключ уже в куче: " + handle);
+        }
+        if (size == deadlines.length) {
+            deadlines = Arrays.copyOf(deadlines, size * 2);
+            handles = Arrays.copyOf(handles, size * 2);
+        }
+        deadlines[size] = deadline;
+        handles[size] = handle;
+        positions[handle] = size;
+        siftUp(size++);
+    }
+
+    public boolean remove(int handle) {
+        if (!contains(handle)) {
+            return false;
+        }
+        removeAt(positions[handle]);
+        return true;
+    }
+
+    public boolean contains(int handle) {
+        return handle >= 0 && handle < positions.length && positions[handle] >= 0;
+    }
+
+    public long getDeadline(int handle) {
+        return deadlines[positions[handle]];
+    }
+
+    public int peekHandle() { return handles[0]; }
+    public long peekDeadline() { return deadlines[0]; }
+
+    public int poll() {
+        int handle = handles[0];
+        removeAt(0);
+        return handle;
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+
+    // Снимок сохраняет порядок элементов в массиве кучи: при равных дедлайнах
+    // восстановленная куча отдаёт ключи в том же порядке, что и исходная
+    void writeState(ByteBuffer out) {
+        Varint.put(out, size);
+        for (int i = 0; i < size; i++) {
+            Varint.put(out, handles[i]);
+            Varint.putSigned(out, deadlines[i]);
+        }
+    }
+
+    void readState(ByteBuffer in) {
+        Arrays.fill(positions, -1);
+        size = 0;
+        int count = Varint.getInt(in);
+        for (int i = 0; i < count; i++) {
+            int handle = Varint.getInt(in);
+            long deadline = Varint.getSigned(in);
+            ensureHandle(handle);
+            if (size == deadlines.length) {
+                deadlines = Arrays.copyOf(deadlines, size * 2);
+                handles = Arrays.copyOf(handles, size * 2);
+            }
+            deadlines[size] = deadline;
+            handles[size] = handle;
+            positions[handle] = size++;
+        }
+    }
+
+    private void removeAt(int index) {
+        positions[handles[index]] = -1;
+        size--;
+        if (index == size) {
+            return;
+        }
+        deadlines[index] = deadlines[size];
+        handles[index] = handles[size];
+        positions[handles[index]] = index;
+        if (index > 0 && deadlines[index] < deadlines[(index - 1) / 2]) {
+            siftUp(index);
+        } else {
+            siftDown(index);
+        }
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (deadlines[parent] <= deadlines[index]) {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int left = index * 2 + 1;
+            if (left >= size) {
+                break;
+            }
+            int smallest = left + 1 < size && deadlines[left + 1] < deadlines[left] ? left + 1 : left;
+            if (deadlines[index] <= deadlines[smallest]) {
+                break;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long deadline = deadlines[a];
+        deadlines[a] = deadlines[b];
+        deadlines[b] = deadline;
+        int handle = handles[a];
+        handles[a] = handles[b];
+        handles[b] = handle;
+        positions[handles[a]] = a;
+        positions[handles[b]] = b;
+    }
+
+    private void ensureHandle(int handle) {
+        if (handle >= positions.length) {
+            int old = positions.length;
+            positions = Arrays.copyOf(positions, Math.max(handle + 1, old * 2));
+            Arrays.fill(positions, old, positions.length, -1);
+        }
+    }
+}
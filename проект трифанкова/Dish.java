@@ -1,17 +1,27 @@
 import java.awt.*;
 
 public class Dish {
+    private final int id; // индекс в DishCatalog, -1 - блюдо не из каталога
     private String name;
     private int price;
     private Color color;
+    private final int cookTicks; // сколько тиков блюдо занимает плиту
 
     public Dish(String name, int price, Color color) {
+        this(-1, name, price, color, DishCatalog.DEFAULT_COOK_TICKS);
+    }
+
+    Dish(int id, String name, int price, Color color, int cookTicks) {
+        this.id = id;
         this.name = name;
         this.price = price;
         this.color = color;
+        this.cookTicks = cookTicks;
     }
 
+    public int getId() { return id; }
     public String getName() { return name; }
     public int getPrice() { return price; }
     public Color getColor() { return color; }
+    public int getCookTicks() { return cookTicks; }
 }
\ No newline at end of file
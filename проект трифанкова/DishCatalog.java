@@ -0,0 +1,42 @@
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Меню, "скомпилированное" в плотные целочисленные id: id блюда = его индекс в каталоге.
+// Сравнение блюд на горячем пути - сравнение id, а не строк
+public class DishCatalog {
+    public static final int DEFAULT_COOK_TICKS = 10; // полсекунды при 20 тиках/с, как раньше
+
+    private final List<Dish> dishes = new ArrayList<>();
+    private final List<Dish> view = Collections.unmodifiableList(dishes);
+
+    public Dish add(String name, int price, Color color) {
+        return add(name, price, color, DEFAULT_COOK_TICKS);
+    }
+
+    public Dish add(String name, int price, Color color, int cookTicks) {
+        if (cookTicks <= 0) {
+            throw new IllegalArgumentException("Время готовки должно быть положительным: " + name + " " + cookTicks);
+        }
+        Dish dish = new Dish(dishes.size(), name, price, color, cookTicks);
+        dishes.add(dish);
+        return dish;
+    }
+
+    public Dish get(int id) {
+        return id < 0 ? null : dishes.get(id);
+    }
+
+    // -1 для блюда не из этого каталога
+    public int idOf(Dish dish) {
+        if (dish == null) {
+            return -1;
+        }
+        int id = dish.getId();
+        return id >= 0 && id < dishes.size() && dishes.get(id) == dish ? id : -1;
+    }
+
+    public int size() { return dishes.size(); }
+    public List<Dish> getDishes() { return view; }
+}
@@ -0,0 +1,126 @@
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Сторож EDT для разработки: своя EventQueue засекает время обработки каждого события,
+// фоновый поток раз в полпорога смотрит, не затянулось ли текущее, и печатает стек EDT
+// прямо во время зависания - видно, чем он занят. Модальные диалоги зависанием не считаются:
+// пока вложенный цикл ждёт событий (getNextEvent), EDT свободен.
+// Включение: -Drestaurant.edt.stallMs=16
+public class EdtWatchdog extends EventQueue {
+    private final long thresholdNanos;
+
+    // Пишет только EDT, читает сторож
+    private volatile Thread edt;
+    private volatile long dispatchStart;   // 0 - EDT ждёт события
+    private volatile AWTEvent current;
+    private volatile long sequence;        // номер события, чтобы сообщать о каждом зависании один раз
+    private int depth;                     // вложенность dispatchEvent (модальные диалоги), только EDT
+
+    private volatile long reportedSequence = -1; // пишет только сторож
+    private volatile long stalls;
+    private volatile long maxStallNanos;
+
+    private EdtWatchdog(long thresholdNanos) {
+        this.thresholdNanos = thresholdNanos;
+    }
+
+    // Вызывать до показа первого окна. Возвращает null, если сторож выключен
+    public static EdtWatchdog installFromSystemProperties() {
+        long thresholdMs = Long.getLong("restaurant.edt.stallMs", 0);
+        return thresholdMs > 0 ? install(thresholdMs) : null;
+    }
+
+    public static EdtWatchdog install(long thresholdMs) {
+        if (thresholdMs <= 0) {
+            throw new IllegalArgumentException("Порог должен быть положительным: " + thresholdMs);
+        }
+        EdtWatchdog watchdog = new EdtWatchdog(TimeUnit.MILLISECONDS.toNanos(thresholdMs));
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(watchdog);
+
+        Thread sampler = new Thread(watchdog::sample, "edt-watchdog");
+        sampler.setDaemon(true);
+        sampler.start();
+        Log.info("✅ Сторож EDT: порог {} мс", thresholdMs);
+        return watchdog;
+    }
+
+    @Override
+    public AWTEvent getNextEvent() throws InterruptedException {
+        dispatchStart = 0; // дальше EDT может спать сколько угодно
+        return super.getNextEvent();
+    }
+
+    @Override
+    protected void dispatchEvent(AWTEvent event) {
+        edt = Thread.currentThread();
+        depth++;
+        current = event;
+        sequence++;
+        dispatchStart = System.nanoTime();
+        try {
+            super.dispatchEvent(event);
+        } finally {
+            depth--;
+            // Итог для зависания, о котором сторож уже сообщил
+            long start = dispatchStart;
+            if (start != 0 && sequence == reportedSequence) {
+                Log.warn("⚠️ EDT: событие {} обрабатывалось {} мс",
+                        event.getClass().getSimpleName(), (System.nanoTime() - start) / 1_000_000);
+            }
+            // Вернулись во внешнее событие из вложенного цикла - дальше считаем его как новое
+            if (depth > 0) {
+                sequence++;
+                dispatchStart = System.nanoTime();
+            } else {
+                dispatchStart = 0;
+                current = null;
+            }
+        }
+    }
+
+    private void sample() {
+        long period = Math.max(TimeUnit.MILLISECONDS.toNanos(1), thresholdNanos / 2);
+        while (true) {
+            LockSupport.parkNanos(period);
+            long seq = sequence;
+            long start = dispatchStart;
+            if (start == 0 || seq != sequence) {
+                continue;
+            }
+            long elapsed = System.nanoTime() - start;
+            if (elapsed <= thresholdNanos) {
+                continue;
+            }
+            if (elapsed > maxStallNanos) {
+                maxStallNanos = elapsed;
+            }
+            if (seq == reportedSequence) {
+                continue;
+            }
+            reportedSequence = seq;
+            stalls++;
+            report(elapsed);
+        }
+    }
+
+    private void report(long elapsed) {
+        Thread thread = edt;
+        AWTEvent event = current;
+        StringBuilder message = new StringBuilder();
+        message.append(String.format("⚠️ EDT занят уже %.1f мс (порог %.1f мс), событие: %s",
+                elapsed / 1e6, thresholdNanos / 1e6, event == null ? "?" : event.getClass().getSimpleName()));
+        if (thread != null) {
+            for (StackTraceElement frame : thread.getStackTrace()) {
+                message.append("\n\tat ").append(frame);
+            }
+        }
+        Log.warn(message.toString());
+    }
+
+    public long getStalls() { return stalls; }
+    public long getMaxStallNanos() { return maxStallNanos; }
+    public long getThresholdNanos() { return thresholdNanos; }
+}
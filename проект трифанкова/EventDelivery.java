@@ -0,0 +1,44 @@
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Способ доставки событий подписчику: синхронно в потоке модели
+// или асинхронно через ограниченную очередь на заданном исполнителе
+public final class EventDelivery {
+    public static final EventDelivery SYNC = new EventDelivery(null, 0);
+
+    private final Executor executor;
+    private final int queueCapacity;
+
+    private EventDelivery(Executor executor, int queueCapacity) {
+        this.executor = executor;
+        this.queueCapacity = queueCapacity;
+    }
+
+    // Например async(SwingUtilities::invokeLater, 256) - доставка в поток Swing
+    public static EventDelivery async(Executor executor, int queueCapacity) {
+        if (executor == null || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Нужен исполнитель и положительный размер очереди");
+        }
+        return new EventDelivery(executor, queueCapacity);
+    }
+
+    // Общий фоновый поток "restaurant-events" на всех таких подписчиков: у каждого своя очередь,
+    // порядок событий у подписчика сохраняется, а число потоков не растёт с подписками
+    public static EventDelivery async(int queueCapacity) {
+        return async(SharedExecutor.EXECUTOR, queueCapacity);
+    }
+
+    // Создаётся при первой асинхронной подписке
+    private static final class SharedExecutor {
+        static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "restaurant-events");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public boolean isAsync() { return executor != null; }
+    Executor getExecutor() { return executor; }
+    int getQueueCapacity() { return queueCapacity; }
+}
@@ -0,0 +1,198 @@
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Журнал сессии только на дозапись: все входы модели (движение, действия официанта, приход клиентов)
+// и все её события. Пишется в отображённый в память файл, без системных вызовов на запись:
+// тик хранится разностью с предыдущей записью, числа - varint, так что запись занимает 2-5 байт.
+// Файл растёт кусками по CHUNK; нули после последней записи читаются как конец журнала,
+// поэтому журнал, оборванный на середине (падение, System.exit), остаётся читаемым.
+// Однопоточный: пишет только поток модели. Воспроизведение - EventLogReplay
+public class EventLog implements AutoCloseable {
+    static final int MAGIC = 0x524C4F47; // "RLOG"
+    static final int VERSION = 1;
+    private static final int CHUNK = 256 * 1024;
+    private static final int MAX_RECORD = 64; // байт - с запасом на самую длинную запись
+
+    // Типы записей. 0 - конец журнала
+    static final byte END_OF_LOG = 0;
+    static final byte MOVE = 1;
+    static final byte ADD_CUSTOMER = 2;
+    static final byte TAKE_ORDER = 3;
+    static final byte SERVE = 4;
+    static final byte PLACE_ORDER = 5;
+    static final byte TAKE_FROM_KITCHEN = 6;
+    static final byte TAKE_DISH = 7;
+    static final byte THROW_AWAY = 8;
+    static final byte THROW_AWAY_IN_BIN = 9;
+    static final byte CLEANUP_TABLE = 10;
+    static final byte EVENT = 32;       // событие модели: тип, клиент, блюдо
+    static final byte FINAL_STATE = 33; // итог сессии для проверки при воспроизведении
+
+    private final FileChannel channel;
+    private final RestaurantEventBus.Subscription<?>[] subscriptions = new RestaurantEventBus.Subscription<?>[RestaurantEventType.ALL.length];
+    private MappedByteBuffer buffer;
+    private long chunkStart;
+    private long lastTick;
+    private long records;
+    private boolean closed;
+
+    private EventLog(FileChannel channel) throws IOException {
+        this.channel = channel;
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, CHUNK);
+    }
+
+    // Журнал пишется с самого начала смены: всё, что нужно для её повторения, уходит в заголовок
+    public static EventLog create(Path path, RestaurantModel model) throws IOException {
+        if (model.getCurrentTick() != 0) {
+            throw new IllegalStateException("Журнал можно начать только на новой смене, тик " + model.getCurrentTick());
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        EventLog log = new EventLog(channel);
+        log.writeHeader(model);
+        log.subscribe(model);
+        return log;
+    }
+
+    // События пишутся синхронно, в том же порядке, в каком их видят остальные подписчики
+    private void subscribe(RestaurantModel model) {
+        RestaurantEventBus bus = model.getEventBus();
+        for (int i = 0; i < RestaurantEventType.ALL.length; i++) {
+            subscriptions[i] = bus.subscribe(RestaurantEventType.ALL[i], e -> event(model.getCurrentTick(), e));
+        }
+    }
+
+    private void event(long tick, RestaurantEvent e) {
+        event(tick, e.getType(), customerOf(e), dishOf(e));
+    }
+
+    // Номер места клиента из события, -1 - событие не про клиента
+    static int customerOf(RestaurantEvent e) {
+        if (e instanceof CustomerEvent) {
+            return ((CustomerEvent) e).getCustomerId();
+        } else if (e instanceof OrderEvent) {
+            return ((OrderEvent) e).getCustomerId();
+        } else if (e instanceof WrongOrderEvent) {
+            return ((WrongOrderEvent) e).getCustomerId();
+        }
+        return -1;
+    }
+
+    // id блюда из события, -1 - событие не про блюдо
+    static int dishOf(RestaurantEvent e) {
+        if (e instanceof OrderEvent) {
+            return ((OrderEvent) e).getDish().getId();
+        } else if (e instanceof WrongOrderEvent) {
+            return ((WrongOrderEvent) e).getWrongDish().getId();
+        }
+        return -1;
+    }
+
+    private void writeHeader(RestaurantModel model) {
+        buffer.putInt(MAGIC);
+        buffer.put((byte) VERSION);
+        buffer.putLong(model.getRandom().getState());
+        model.getLayout().writeTo(buffer);
+        model.getKitchen().writeConfig(buffer);
+        writeVarint(model.getWinScore());
+    }
+
+    public void input(byte type, long tick) {
+        begin(type, tick);
+    }
+
+    public void input(byte type, long tick, int arg) {
+        begin(type, tick);
+        writeSigned(arg);
+    }
+
+    public void move(long tick, int dx, int dy) {
+        begin(MOVE, tick);
+        writeSigned(dx);
+        writeSigned(dy);
+    }
+
+    // customer / dish - номер места и id блюда, -1 если их у события нет
+    public void event(long tick, RestaurantEventType<?> type, int customer, int dish) {
+        begin(EVENT, tick);
+        writeVarint(type.index);
+        writeSigned(customer);
+        writeSigned(dish);
+    }
+
+    void finalState(RestaurantModel model) {
+        begin(FINAL_STATE, model.getCurrentTick());
+        writeSigned(model.getScore());
+        writeSigned(model.getMoney());
+        writeVarint(model.getCustomerStore().size());
+        writeVarint(model.getKitchen().size());
+        writeVarint(model.getReadyShelf().size());
+        writeSigned(model.getPlayer().getX());
+        writeSigned(model.getPlayer().getY());
+    }
+
+    private void begin(byte type, long tick) {
+        if (closed) {
+            throw new IllegalStateException("Журнал уже закрыт");
+        }
+        if (buffer.remaining() < MAX_RECORD) {
+            remap();
+        }
+        buffer.put(type);
+        writeVarint(tick - lastTick);
+        lastTick = tick;
+        records++;
+    }
+
+    private void remap() {
+        try {
+            chunkStart += buffer.position();
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, chunkStart, CHUNK);
+        } catch (IOException e) {
+            throw new IllegalStateException("Не удалось расширить журнал", e);
+        }
+    }
+
+    private void writeVarint(long value) {
+        Varint.put(buffer, value);
+    }
+
+    private void writeSigned(long value) {
+        Varint.putSigned(buffer, value);
+    }
+
+    // Дописывает итог смены и сбрасывает страницы на диск. Хвост файла не обрезается:
+    // отображённый буфер в Java нельзя освободить явно, а на Windows обрезка под ним падает
+    public void close(RestaurantModel model) {
+        if (closed) {
+            return;
+        }
+        finalState(model);
+        close();
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (RestaurantEventBus.Subscription<?> subscription : subscriptions) {
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+        try {
+            buffer.force();
+            channel.close();
+        } catch (IOException e) {
+            Log.error("❌ Ошибка закрытия журнала", e);
+        }
+    }
+
+    public long getRecords() { return records; }
+    public long getSize() { return chunkStart + buffer.position(); }
+}
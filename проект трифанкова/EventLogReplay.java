@@ -0,0 +1,228 @@
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+// Воспроизведение журнала EventLog на безголовой модели с максимальной скоростью.
+// Входы подаются на тех же тиках, события модели сверяются с записанными по порядку,
+// в конце сверяется итог смены. Первое расхождение - IllegalStateException с тиком и записью.
+// Запуск: java EventLogReplay <журнал>
+public class EventLogReplay {
+    private final MappedByteBuffer buffer;
+    private final RestaurantModel model;
+    private final SimulationEngine engine;
+
+    // Кольцо событий, которые модель выдала при воспроизведении и которые ещё не сверены с журналом
+    private long[] produced = new long[64];
+    private int producedHead;
+    private int producedCount;
+
+    private long tick;
+    private long records;
+    private long events;
+    private boolean finalStateChecked;
+
+    public EventLogReplay(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Журнал больше 2 ГБ не поддерживается: " + path);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.remaining() < 5 || buffer.getInt() != EventLog.MAGIC) {
+            throw new IOException("Это не журнал смены: " + path);
+        }
+        int version = buffer.get();
+        if (version != EventLog.VERSION) {
+            throw new IOException("Неподдерживаемая версия журнала: " + version);
+        }
+        long randomState = buffer.getLong();
+        RestaurantLayout layout = RestaurantLayout.readFrom(buffer);
+        KitchenScheduler kitchen = KitchenScheduler.readConfig(buffer);
+
+        SimRandom random = new SimRandom(randomState);
+        model = new RestaurantModel(layout, random, kitchen);
+        model.setPersistOrders(false);
+        model.setWinScore(readInt());
+        for (RestaurantEventType<?> type : RestaurantEventType.ALL) {
+            model.getEventBus().subscribe(type, this::produced);
+        }
+        engine = new SimulationEngine(model, SimulationEngine.UNLIMITED);
+    }
+
+    // Прогоняет журнал до конца, возвращает модель в итоговом состоянии
+    public RestaurantModel replay() {
+        while (buffer.hasRemaining()) {
+            byte type = buffer.get();
+            if (type == EventLog.END_OF_LOG) {
+                break;
+            }
+            tick += readLong();
+            records++;
+            if (type == EventLog.EVENT) {
+                checkEvent(readInt(), readSigned(), readSigned());
+                continue;
+            }
+            advanceTo(tick);
+            if (type == EventLog.FINAL_STATE) {
+                checkFinalState();
+            } else {
+                apply(type);
+            }
+        }
+        if (producedCount > 0) {
+            throw divergence("модель выдала " + producedCount + " событий, которых нет в журнале");
+        }
+        return model;
+    }
+
+    private void advanceTo(long target) {
+        if (model.getCurrentTick() > target) {
+            throw divergence("модель уже на тике " + model.getCurrentTick());
+        }
+        while (model.getCurrentTick() < target) {
+            engine.step();
+        }
+    }
+
+    private void apply(byte type) {
+        switch (type) {
+            case EventLog.MOVE:
+                model.movePlayer(readSigned(), readSigned());
+                break;
+            case EventLog.ADD_CUSTOMER:
+                model.addCustomer();
+                break;
+            case EventLog.TAKE_ORDER:
+                model.takeOrderFromCustomer(customer(readSigned()));
+                break;
+            case EventLog.SERVE:
+                model.serveCustomer(customer(readSigned()));
+                break;
+            case EventLog.PLACE_ORDER:
+                model.placeOrderInKitchen(model.getDishCatalog().get(readSigned()));
+                break;
+            case EventLog.TAKE_FROM_KITCHEN:
+                model.takeOrderFromKitchen();
+                break;
+            case EventLog.TAKE_DISH:
+                model.takeSpecificDishFromKitchen(model.getDishCatalog().get(readSigned()));
+                break;
+            case EventLog.THROW_AWAY:
+                model.throwAwayDish();
+                break;
+            case EventLog.THROW_AWAY_IN_BIN:
+                model.throwAwayDishInTrashBin();
+                break;
+            case EventLog.CLEANUP_TABLE:
+                model.cleanupTable(model.getTables().get(readSigned()));
+                break;
+            default:
+                throw divergence("неизвестный тип записи " + type);
+        }
+    }
+
+    private Customer customer(int slot) {
+        Customer customer = model.getCustomerStore().getCustomer(slot);
+        if (customer == null) {
+            throw divergence("на месте " + slot + " нет клиента");
+        }
+        return customer;
+    }
+
+    private void produced(RestaurantEvent e) {
+        if (producedCount == produced.length) {
+            long[] grown = new long[produced.length * 2];
+            for (int i = 0; i < producedCount; i++) {
+                grown[i] = produced[(producedHead + i) % produced.length];
+            }
+            produced = grown;
+            producedHead = 0;
+        }
+        produced[(producedHead + producedCount++) % produced.length] = pack(e.getType().index, EventLog.customerOf(e), EventLog.dishOf(e));
+    }
+
+    private void checkEvent(int type, int customer, int dish) {
+        events++;
+        advanceTo(tick);
+        long expected = pack(type, customer, dish);
+        long actual = produced[producedHead];
+        if (producedCount == 0 || actual != expected) {
+            throw divergence("ожидалось событие " + describe(expected) + ", модель выдала "
+                    + (producedCount == 0 ? "ничего" : describe(actual)));
+        }
+        producedHead = (producedHead + 1) % produced.length;
+        producedCount--;
+    }
+
+    private void checkFinalState() {
+        int score = readSigned();
+        int money = readSigned();
+        int customers = readInt();
+        int kitchenSize = readInt();
+        int shelfSize = readInt();
+        int playerX = readSigned();
+        int playerY = readSigned();
+        if (score != model.getScore() || money != model.getMoney() || customers != model.getCustomerStore().size()
+                || kitchenSize != model.getKitchen().size() || shelfSize != model.getReadyShelf().size()
+                || playerX != model.getPlayer().getX() || playerY != model.getPlayer().getY()) {
+            throw divergence(String.format("итог смены: ожидалось счёт %d, деньги %d, клиентов %d, кухня %d, готово %d, "
+                            + "официант (%d, %d); получено %d, %d, %d, %d, %d, (%d, %d)",
+                    score, money, customers, kitchenSize, shelfSize, playerX, playerY,
+                    model.getScore(), model.getMoney(), model.getCustomerStore().size(), model.getKitchen().size(),
+                    model.getReadyShelf().size(), model.getPlayer().getX(), model.getPlayer().getY()));
+        }
+        finalStateChecked = true;
+    }
+
+    private static long pack(int type, int customer, int dish) {
+        return ((long) type << 48) | ((long) (customer & 0xFFFFFF) << 24) | (dish & 0xFFFFFF);
+    }
+
+    private static String describe(long packed) {
+        int customer = (int) (packed >> 24) & 0xFFFFFF;
+        int dish = (int) packed & 0xFFFFFF;
+        return RestaurantEventType.ALL[(int) (packed >>> 48)] + "(клиент " + (customer == 0xFFFFFF ? -1 : customer)
+                + ", блюдо " + (dish == 0xFFFFFF ? -1 : dish) + ")";
+    }
+
+    private IllegalStateException divergence(String message) {
+        return new IllegalStateException("Расхождение на тике " + tick + ", запись " + records + ": " + message);
+    }
+
+    private long readLong() {
+        return Varint.get(buffer);
+    }
+
+    private int readInt() {
+        return Varint.getInt(buffer);
+    }
+
+    private int readSigned() {
+        return Varint.getSignedInt(buffer);
+    }
+
+    public long getRecords() { return records; }
+    public long getEvents() { return events; }
+    public boolean isFinalStateChecked() { return finalStateChecked; }
+    public RestaurantModel getModel() { return model; }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Использование: java EventLogReplay <журнал>");
+            return;
+        }
+        long start = System.nanoTime();
+        EventLogReplay replay = new EventLogReplay(Paths.get(args[0]));
+        replay.replay();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        RestaurantModel model = replay.getModel();
+        System.out.printf("✅ Журнал воспроизведён: записей %d, событий %d, тиков %d | счёт %d, деньги %d%s%n",
+                replay.getRecords(), replay.getEvents(), model.getCurrentTick(), model.getScore(), model.getMoney(),
+                replay.isFinalStateChecked() ? " | итог совпал" : " | итога в журнале нет (смена оборвана)");
+        System.out.printf("Время: %.3f с | %.0f тиков/с%n", seconds, model.getCurrentTick() / seconds);
+    }
+}
@@ -0,0 +1,164 @@
+import java.awt.*;
+import java.util.concurrent.locks.LockSupport;
+
+// Единый игровой цикл вместо трёх Swing-таймеров. Два потока:
+// - "game-loop" - единственный поток, который меняет модель: в темпе тиков применяет команды
+//   из CommandQueue, продвигает симуляцию и публикует RenderSnapshot. EDT модель не трогает -
+//   ввод и кнопки приходят командами (RestaurantController), ответы и события уходят в invokeLater;
+// - "game-render" в темпе кадров берёт последний снимок и рисует его с интерполяцией.
+// Снимки передаются через TripleBuffer, так что отрисовка никогда не тормозит симуляцию.
+public class GameLoop {
+    public enum FrameRate {
+        UNCAPPED, // кадры без пауз
+        VSYNC,    // темп частоты обновления монитора
+        FIXED     // заданное число кадров в секунду
+    }
+
+    public static final int DEFAULT_FPS = 60;
+
+    private final SimulationEngine engine;
+    private final RestaurantView view;
+    private final FrameRate frameRate;
+    private final long frameNanos;
+    private final long tickNanos;
+    private final TripleBuffer<RenderSnapshot> snapshots = new TripleBuffer<>(RenderSnapshot::new);
+
+    private volatile boolean running;
+    private volatile long frames;
+
+    public GameLoop(SimulationEngine engine, RestaurantView view, FrameRate frameRate, int fps) {
+        if (frameRate == FrameRate.FIXED && fps <= 0) {
+            throw new IllegalArgumentException("Частота кадров должна быть положительной: " + fps);
+        }
+        this.engine = engine;
+        this.view = view;
+        this.frameRate = frameRate;
+        this.tickNanos = engine.getTickNanos() > 0
+                ? engine.getTickNanos() : 1_000_000_000L / SimulationEngine.DEFAULT_TICK_RATE;
+        switch (frameRate) {
+            case FIXED:
+                frameNanos = 1_000_000_000L / fps;
+                break;
+            case VSYNC:
+                frameNanos = 1_000_000_000L / displayRefreshRate();
+                break;
+            default:
+                frameNanos = 0;
+        }
+    }
+
+    // Режим из -Drestaurant.fps: "uncapped", "vsync" (по умолчанию) или число кадров в секунду
+    public static GameLoop fromSystemProperties(SimulationEngine engine, RestaurantView view) {
+        String value = System.getProperty("restaurant.fps", "vsync").trim();
+        if (value.equalsIgnoreCase("uncapped")) {
+            return new GameLoop(engine, view, FrameRate.UNCAPPED, 0);
+        }
+        if (value.equalsIgnoreCase("vsync")) {
+            return new GameLoop(engine, view, FrameRate.VSYNC, 0);
+        }
+        try {
+            return new GameLoop(engine, view, FrameRate.FIXED, Integer.parseInt(value));
+        } catch (IllegalArgumentException e) {
+            Log.warn("❌ Некорректное значение restaurant.fps: {}, используется vsync", value);
+            return new GameLoop(engine, view, FrameRate.VSYNC, 0);
+        }
+    }
+
+    private static int displayRefreshRate() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return DEFAULT_FPS;
+        }
+        int rate = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDisplayMode().getRefreshRate();
+        return rate == DisplayMode.REFRESH_RATE_UNKNOWN || rate <= 0 ? DEFAULT_FPS : rate;
+    }
+
+    // Вызывать до того, как модель начнёт получать команды
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        publishSnapshot(System.nanoTime()); // чтобы первому кадру было что рисовать
+
+        Thread simulation = new Thread(this::runSimulation, "game-loop");
+        simulation.setDaemon(true);
+        simulation.start();
+
+        Thread render = new Thread(this::runRender, "game-render");
+        render.setDaemon(true);
+        render.start();
+    }
+
+    public void stop() {
+        running = false;
+    }
+
+    private void runSimulation() {
+        long nextTick = System.nanoTime();
+        while (running) {
+            try {
+                simulationFrame();
+            } catch (RuntimeException e) {
+                Log.error("❌ Ошибка в игровом тике", e);
+            }
+            nextTick = pace(nextTick, tickNanos);
+        }
+        running = false;
+        engine.close(); // иначе future команд, пришедших после остановки, не завершатся никогда
+    }
+
+    private void runRender() {
+        long nextFrame = System.nanoTime();
+        while (running) {
+            try {
+                RenderSnapshot snapshot = snapshots.acquire();
+                long start = System.nanoTime();
+                view.present(snapshot, snapshot.alphaAt(start));
+                if (GameMetrics.ENABLED) {
+                    GameMetrics.FRAME_NANOS.record(System.nanoTime() - start);
+                }
+                frames++;
+            } catch (RuntimeException e) {
+                Log.error("❌ Ошибка при отрисовке кадра", e);
+            }
+
+            if (frameNanos == 0) {
+                Thread.yield();
+                continue;
+            }
+            nextFrame = pace(nextFrame, frameNanos);
+        }
+    }
+
+    // Спит до следующего срока; при сильном отставании не пытается догнать пропущенное
+    private static long pace(long previous, long periodNanos) {
+        long next = previous + periodNanos;
+        long sleep = next - System.nanoTime();
+        if (sleep > 0) {
+            LockSupport.parkNanos(sleep);
+        } else if (sleep < -periodNanos) {
+            next = System.nanoTime();
+        }
+        return next;
+    }
+
+    // Выполняется в потоке "game-loop"; команды применяются внутри engine.step()
+    private void simulationFrame() {
+        long now = System.nanoTime();
+        engine.advance(now);
+        publishSnapshot(now);
+        RestaurantModel model = engine.getModel();
+        view.updateStatus(model.getScore(), model.getMoney());
+    }
+
+    private void publishSnapshot(long now) {
+        snapshots.back().capture(engine.getModel(), now, engine.getInterpolationAlpha(), tickNanos);
+        snapshots.publish();
+    }
+
+    public boolean isRunning() { return running; }
+    public FrameRate getFrameRate() { return frameRate; }
+    public long getFrameNanos() { return frameNanos; }
+    public long getFrames() { return frames; }
+}
@@ -2,18 +2,54 @@ import java.awt.*;
 
 public abstract class GameObject {
     protected int x, y;
+    protected int prevX, prevY; // позиция на прошлом тике - для интерполяции при отрисовке
+    private int maxX = 980, maxY = 680; // граница зала для move()
+    SpatialGrid grid; // сетка, в которой числится объект
+    int gridCell = -1;
 
     public GameObject(int x, int y) {
         this.x = x;
         this.y = y;
+        this.prevX = x;
+        this.prevY = y;
     }
 
     public int getX() { return x; }
     public int getY() { return y; }
-    public void setX(int x) { this.x = x; }
-    public void setY(int y) { this.y = y; }
+    public void setX(int x) { this.x = x; positionChanged(); }
+    public void setY(int y) { this.y = y; positionChanged(); }
     public void move(int dx, int dy) {
-        x = Math.max(20, Math.min(980, x + dx));
-        y = Math.max(20, Math.min(680, y + dy));
+        x = Math.max(20, Math.min(maxX, x + dx));
+        y = Math.max(20, Math.min(maxY, y + dy));
+        positionChanged();
+    }
+
+    // Вызывается в начале тика, до перемещения
+    public void rememberPosition() {
+        prevX = x;
+        prevY = y;
+    }
+
+    public void setMoveBounds(int maxX, int maxY) {
+        this.maxX = maxX;
+        this.maxY = maxY;
+    }
+
+    // Восстановление из снимка: позиция вместе с прошлой, без интерполяционного "прыжка"
+    void restorePosition(int x, int y, int prevX, int prevY) {
+        this.x = x;
+        this.y = y;
+        this.prevX = prevX;
+        this.prevY = prevY;
+        positionChanged();
+    }
+
+    public int getPrevX() { return prevX; }
+    public int getPrevY() { return prevY; }
+
+    private void positionChanged() {
+        if (grid != null) {
+            grid.update(this);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,583 @@
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
+
+// Холст с активной отрисовкой: кадры рисует GameLoop через BufferStrategy,
+// а не RepaintManager по repaint(). Рисует только RenderSnapshot, модель не трогает,
+// поэтому может работать на своём потоке
+public class GamePanel extends Canvas {
+    // Цвета для оформления
+    private final Color WALL_COLOR = new Color(180, 160, 140);
+    private final Color FLOOR_COLOR = new Color(240, 220, 180);
+    private final Color TABLE_COLOR = new Color(139, 69, 19);
+    private final Color DIRTY_TABLE_COLOR = new Color(100, 50, 20);
+    private final Color KITCHEN_COLOR = new Color(80, 80, 80);
+
+    private static final Color PROGRESS_BACK_COLOR = new Color(200, 200, 200);
+    private static final Color PROGRESS_FILL_COLOR = new Color(0, 150, 0);
+    private static final Color BUBBLE_COLOR = new Color(255, 255, 255, 200);
+
+    // Шрифты создаются один раз, а не на каждый кадр
+    private static final Font TITLE_FONT = new Font("Arial", Font.BOLD, 24);
+    private static final Font ICON_FONT = new Font("Arial", Font.BOLD, 20);
+    private static final Font TABLE_NUMBER_FONT = new Font("Arial", Font.BOLD, 16);
+    private static final Font KITCHEN_TITLE_FONT = new Font("Arial", Font.BOLD, 14);
+    private static final Font BOLD_FONT = new Font("Arial", Font.BOLD, 12);
+    private static final Font DISH_LABEL_FONT = new Font("Arial", Font.BOLD, 9);
+    private static final Font PLAIN_FONT = new Font("Arial", Font.PLAIN, 12);
+    private static final Font SMALL_FONT = new Font("Arial", Font.PLAIN, 10);
+
+    // Статический слой: фон, стены, пол, кухня, мусорка и столы.
+    // Перерисовывается только при изменении размера или состояния столов
+    private BufferedImage background;
+    private boolean[] backgroundTableClean = new boolean[0];
+    private boolean backgroundCacheEnabled = true;
+
+    // Фигуры клиентов, игрока, блюд и столов - из кэша спрайтов.
+    // Области - относительно точки привязки фигуры, с запасом на сглаживание
+    private static final Rectangle TABLE_BOUNDS = new Rectangle(-32, -27, 64, 64);
+    private static final Rectangle CUSTOMER_BOUNDS = new Rectangle(-22, -37, 44, 57);
+    private static final Rectangle PLAYER_BOUNDS = new Rectangle(-27, -27, 54, 51);
+    private static final Rectangle DISH_BOUNDS = new Rectangle(-1, -1, 36, 42);
+    private static final int SPRITE_MARGIN = 64; // с запасом больше любой фигуры вместе со шкалой терпения
+    private static final int MOOD_SERVED = 0;
+    private static final int MOOD_NEUTRAL = 1;
+    private static final int MOOD_SAD = 2;
+
+    private final SpriteCache sprites = new SpriteCache();
+    private boolean spriteCacheEnabled = true;
+
+    public GamePanel() {
+        setIgnoreRepaint(true);
+    }
+
+    // Рисует кадр и показывает его. false - буфер ещё не готов (холст не отображается)
+    public boolean present(RenderSnapshot snapshot, double alpha) {
+        if (!isDisplayable() || getWidth() <= 0 || getHeight() <= 0) {
+            return false;
+        }
+        BufferStrategy strategy = getBufferStrategy();
+        if (strategy == null) {
+            createBufferStrategy(2);
+            return false;
+        }
+        GameEvents.RenderFrame event = new GameEvents.RenderFrame();
+        event.begin();
+        int repaints = -1;
+        do {
+            do {
+                repaints++;
+                Graphics2D g2d = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    render(g2d, snapshot, alpha);
+                } finally {
+                    g2d.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+        if (event.shouldCommit()) {
+            event.width = getWidth();
+            event.height = getHeight();
+            event.repaints = repaints;
+            event.commit();
+        }
+        return true;
+    }
+
+    void render(Graphics2D g2d, RenderSnapshot snapshot, double alpha) {
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        if (backgroundCacheEnabled) {
+            if (isBackgroundStale(snapshot)) {
+                rebuildBackground(snapshot);
+            }
+            g2d.drawImage(background, 0, 0, null);
+        } else {
+            drawStaticLayer(g2d, snapshot);
+        }
+        drawKitchenStatus(g2d, snapshot);
+
+        for (int i = 0; i < snapshot.getCustomerCount(); i++) {
+            if (isOnScreen(snapshot.getCustomerX(i), snapshot.getCustomerY(i))) {
+                drawCustomer(g2d, snapshot, i);
+            }
+        }
+
+        drawPlayer(g2d, snapshot, alpha);
+        drawKitchenOrders(g2d, snapshot);
+        drawUI(g2d, snapshot);
+    }
+
+    private boolean isBackgroundStale(RenderSnapshot snapshot) {
+        if (background == null || background.getWidth() != getWidth() || background.getHeight() != getHeight()) {
+            return true;
+        }
+        if (snapshot.getTableCount() != backgroundTableClean.length) {
+            return true;
+        }
+        for (int i = 0; i < backgroundTableClean.length; i++) {
+            if (snapshot.isTableClean(i) != backgroundTableClean[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void rebuildBackground(RenderSnapshot snapshot) {
+        int width = Math.max(1, getWidth());
+        int height = Math.max(1, getHeight());
+        GraphicsConfiguration config = getGraphicsConfiguration();
+        background = config != null
+                ? config.createCompatibleImage(width, height, Transparency.OPAQUE)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+
+        backgroundTableClean = new boolean[snapshot.getTableCount()];
+        for (int i = 0; i < backgroundTableClean.length; i++) {
+            backgroundTableClean[i] = snapshot.isTableClean(i);
+        }
+
+        Graphics2D g2d = background.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        drawStaticLayer(g2d, snapshot);
+        g2d.dispose();
+    }
+
+    private void drawStaticLayer(Graphics2D g2d, RenderSnapshot snapshot) {
+        drawRestaurant(g2d);
+        drawKitchen(g2d);
+        drawTrashBin(g2d, snapshot);
+
+        for (int i = 0; i < snapshot.getTableCount(); i++) {
+            if (isOnScreen(snapshot.getTableX(i), snapshot.getTableY(i))) {
+                drawTable(g2d, snapshot, i);
+            }
+        }
+    }
+
+    // В большом зале большая часть столов и клиентов за краем холста - их не рисуем
+    private boolean isOnScreen(int x, int y) {
+        return x > -SPRITE_MARGIN && y > -SPRITE_MARGIN
+                && x < getWidth() + SPRITE_MARGIN && y < getHeight() + SPRITE_MARGIN;
+    }
+
+    // Для сравнения в бенчмарках: рисовать всё каждый кадр
+    void setBackgroundCacheEnabled(boolean enabled) {
+        backgroundCacheEnabled = enabled;
+        background = null;
+    }
+
+    void setSpriteCacheEnabled(boolean enabled) {
+        spriteCacheEnabled = enabled;
+        sprites.clear();
+    }
+
+    SpriteCache getSpriteCache() {
+        return sprites;
+    }
+
+    private void drawSprite(Graphics2D g2d, int x, int y, long key, Rectangle bounds, SpriteCache.Painter painter) {
+        if (spriteCacheEnabled) {
+            sprites.draw(g2d, x, y, key, bounds, painter);
+            return;
+        }
+        g2d.translate(x, y);
+        painter.paint(g2d);
+        g2d.translate(-x, -y);
+    }
+
+    private void drawTrashBin(Graphics2D g2d, RenderSnapshot snapshot) {
+        int x = snapshot.getTrashBinX();
+        int y = snapshot.getTrashBinY();
+
+        // Основание бака
+        g2d.setColor(new Color(80, 80, 80));
+        g2d.fillRect(x - 20, y - 30, 40, 50);
+
+        // Крышка
+        g2d.setColor(new Color(60, 60, 60));
+        g2d.fillRect(x - 25, y - 35, 50, 10);
+
+        // Ободок
+        g2d.setColor(new Color(100, 100, 100));
+        g2d.drawRect(x - 20, y - 30, 40, 50);
+        g2d.drawRect(x - 25, y - 35, 50, 10);
+
+        // Значок мусора
+        g2d.setColor(Color.WHITE);
+        g2d.setFont(ICON_FONT);
+        g2d.drawString("🗑️", x - 12, y + 5);
+
+        // Подпись
+        g2d.setColor(Color.BLACK);
+        g2d.setFont(SMALL_FONT);
+        g2d.drawString("Мусорка", x - 18, y + 25);
+    }
+
+    private void drawRestaurant(Graphics2D g2d) {
+        // Фон с градиентом
+        GradientPaint background = new GradientPaint(0, 0, new Color(230, 240, 255),
+                getWidth(), getHeight(), new Color(210, 230, 255));
+        g2d.setPaint(background);
+        g2d.fillRect(0, 0, getWidth(), getHeight());
+
+        // Стены
+        g2d.setColor(WALL_COLOR);
+        g2d.fillRect(0, 0, getWidth(), 80);
+        g2d.fillRect(0, 0, 80, getHeight());
+        g2d.fillRect(getWidth() - 80, 0, 80, getHeight());
+        g2d.fillRect(0, getHeight() - 60, getWidth(), 60);
+
+        // Пол с узором
+        g2d.setColor(FLOOR_COLOR);
+        g2d.fillRect(80, 80, getWidth() - 160, getHeight() - 140);
+
+        // Узор на полу
+        g2d.setColor(new Color(220, 200, 170));
+        for (int x = 80; x < getWidth() - 80; x += 40) {
+            for (int y = 80; y < getHeight() - 60; y += 40) {
+                g2d.drawRect(x, y, 40, 40);
+            }
+        }
+
+        // Название ресторана на стене
+        g2d.setColor(Color.WHITE);
+        g2d.setFont(TITLE_FONT);
+        String title = "🍕 РЕСТОРАН СНЕЖОКА 🍔";
+        int titleWidth = g2d.getFontMetrics().stringWidth(title);
+        g2d.drawString(title, (getWidth() - titleWidth) / 2, 50);
+    }
+
+    private void drawKitchen(Graphics2D g2d) {
+        // Основание кухни
+        g2d.setColor(KITCHEN_COLOR);
+        g2d.fillRoundRect(40, 100, 120, 80, 20, 20);
+
+        // Столешница
+        g2d.setColor(new Color(100, 100, 100));
+        g2d.fillRect(35, 95, 130, 10);
+
+        // Плита
+        g2d.setColor(Color.DARK_GRAY);
+        g2d.fillRect(60, 120, 40, 30);
+        g2d.setColor(Color.RED);
+        g2d.fillOval(70, 130, 8, 8);
+        g2d.fillOval(85, 130, 8, 8);
+
+        // Раковина
+        g2d.setColor(Color.LIGHT_GRAY);
+        g2d.fillRect(110, 120, 30, 25);
+
+        g2d.setColor(Color.WHITE);
+        g2d.setFont(KITCHEN_TITLE_FONT);
+        g2d.drawString("🍳 КУХНЯ", 60, 95);
+    }
+
+    private void drawKitchenStatus(Graphics2D g2d, RenderSnapshot snapshot) {
+        // Информация о кухне
+        g2d.setColor(Color.BLACK);
+        g2d.setFont(SMALL_FONT);
+        g2d.drawString("Готово: " + snapshot.getReadyCount(), 45, 110);
+        g2d.drawString("В очереди: " + snapshot.getCookingCount(), 45, 125);
+
+        // Отображение прогресса приготовления
+        g2d.setColor(Color.BLACK);
+        g2d.setFont(SMALL_FONT);
+
+        int yOffset = 140;
+        for (int i = 0; i < snapshot.getCookingCount(); i++) {
+            Dish dish = snapshot.getCookingDish(i);
+            int progress = snapshot.getCookingProgress(i);
+            g2d.drawString(dish.getName() + ": " + progress + "%", 45, yOffset);
+            yOffset += 12;
+
+            // Прогресс-бар
+            g2d.setColor(PROGRESS_BACK_COLOR);
+            g2d.fillRect(45, yOffset, 60, 6);
+            g2d.setColor(PROGRESS_FILL_COLOR);
+            g2d.fillRect(45, yOffset, (progress * 60) / 100, 6);
+            g2d.setColor(Color.BLACK);
+            g2d.drawRect(45, yOffset, 60, 6);
+
+            yOffset += 15;
+
+            // Ограничиваем отображение
+            if (yOffset > 250) break;
+        }
+    }
+
+    private void drawTable(Graphics2D g2d, RenderSnapshot snapshot, int i) {
+        boolean clean = snapshot.isTableClean(i);
+        int number = snapshot.getTableNumber(i);
+        drawSprite(g2d, snapshot.getTableX(i), snapshot.getTableY(i),
+                SpriteCache.key(SpriteCache.TABLE, number, clean ? 1 : 0), TABLE_BOUNDS,
+                sprite -> paintTable(sprite, clean, number));
+    }
+
+    private void paintTable(Graphics2D g2d, boolean clean, int number) {
+        int x = 0;
+        int y = 0;
+
+        // Ножки стола
+        g2d.setColor(new Color(101, 67, 33));
+        g2d.fillRect(x - 20, y + 15, 8, 20);
+        g2d.fillRect(x + 12, y + 15, 8, 20);
+
+        // Столешница
+        if (clean) {
+            g2d.setColor(TABLE_COLOR);
+        } else {
+            g2d.setColor(DIRTY_TABLE_COLOR);
+        }
+        g2d.fillRoundRect(x - 30, y - 25, 60, 50, 15, 15);
+
+        // Текстура стола
+        g2d.setColor(clean ? new Color(160, 120, 80) : new Color(120, 80, 40));
+        g2d.drawRoundRect(x - 30, y - 25, 60, 50, 15, 15);
+
+        // Номер стола
+        g2d.setColor(Color.WHITE);
+        g2d.setFont(TABLE_NUMBER_FONT);
+        String tableNum = String.valueOf(number + 1);
+        int textWidth = g2d.getFontMetrics().stringWidth(tableNum);
+        g2d.drawString(tableNum, x - textWidth/2, y + 5);
+
+        // Если стол грязный - добавляем визуальный индикатор
+        if (!clean) {
+            g2d.setColor(new Color(100, 100, 100, 150));
+            g2d.fillOval(x - 10, y - 10, 20, 20);
+            g2d.setColor(Color.WHITE);
+            g2d.drawString("💩", x - 8, y + 5);
+        }
+    }
+
+    private void drawCustomer(Graphics2D g2d, RenderSnapshot snapshot, int i) {
+        int x = snapshot.getCustomerX(i);
+        int y = snapshot.getCustomerY(i);
+        byte state = snapshot.getCustomerState(i);
+        int patience = snapshot.getCustomerPatience(i);
+        int maxPatience = snapshot.getCustomerMaxPatience(i);
+        Color color = snapshot.getCustomerColor(i);
+        int mood;
+        if (state == RenderSnapshot.CUSTOMER_SERVED) {
+            mood = MOOD_SERVED;
+        } else if (patience > maxPatience * 0.3) {
+            mood = MOOD_NEUTRAL;
+        } else {
+            mood = MOOD_SAD;
+        }
+
+        drawSprite(g2d, x, y, SpriteCache.key(SpriteCache.CUSTOMER, mood, color.getRGB()), CUSTOMER_BOUNDS,
+                sprite -> paintCustomer(sprite, color, mood));
+
+        // Шкала терпения и облачко меняются каждый тик - рисуются поверх спрайта
+        drawPatienceBar(g2d, x, y, patience, maxPatience);
+
+        // Индикаторы состояния
+        if (state == RenderSnapshot.CUSTOMER_WANTS_ORDER) {
+            // Хочет заказать
+            drawSpeechBubble(g2d, x + 25, y - 45, "❓");
+        } else if (state == RenderSnapshot.CUSTOMER_WAITING) {
+            // Ждет заказ
+            drawSpeechBubble(g2d, x + 25, y - 45, "⏰");
+        }
+    }
+
+    private void paintCustomer(Graphics2D g2d, Color color, int mood) {
+        int x = 0;
+        int y = 0;
+
+        // Тень
+        g2d.setColor(new Color(0, 0, 0, 50));
+        g2d.fillOval(x - 18, y + 10, 36, 8);
+
+        // Тело (одежда)
+        g2d.setColor(color);
+        g2d.fillRoundRect(x - 20, y - 15, 40, 30, 10, 10);
+
+        // Голова
+        g2d.setColor(new Color(255, 218, 185));
+        g2d.fillOval(x - 15, y - 35, 30, 30);
+
+        // Волосы
+        g2d.setColor(new Color(80, 50, 20));
+        g2d.fillRect(x - 15, y - 35, 30, 8);
+
+        // Глаза
+        g2d.setColor(Color.WHITE);
+        g2d.fillOval(x - 8, y - 25, 6, 6);
+        g2d.fillOval(x + 2, y - 25, 6, 6);
+        g2d.setColor(Color.BLACK);
+        g2d.fillOval(x - 6, y - 23, 3, 3);
+        g2d.fillOval(x + 4, y - 23, 3, 3);
+
+        // Рот в зависимости от настроения
+        if (mood == MOOD_SERVED) {
+            g2d.setColor(Color.RED);
+            g2d.drawArc(x - 5, y - 18, 10, 6, 0, -180); // Улыбка
+        } else if (mood == MOOD_NEUTRAL) {
+            g2d.setColor(Color.BLACK);
+            g2d.drawLine(x - 4, y - 17, x + 4, y - 17); // Нейтральный
+        } else {
+            g2d.setColor(Color.RED);
+            g2d.drawArc(x - 5, y - 15, 10, 6, 0, 180); // Грустный
+        }
+
+    }
+
+    private void drawPatienceBar(Graphics2D g2d, int x, int y, int patience, int maxPatience) {
+        // Шкала терпения (увеличенная)
+        int barWidth = 60;
+        int filledWidth = (patience * barWidth) / maxPatience;
+
+        // Фон шкалы
+        g2d.setColor(PROGRESS_BACK_COLOR);
+        g2d.fillRect(x - 30, y - 55, barWidth, 8);
+
+        // Заполнение шкалы
+        if (patience > maxPatience * 0.6) {
+            g2d.setColor(Color.GREEN);
+        } else if (patience > maxPatience * 0.3) {
+            g2d.setColor(Color.YELLOW);
+        } else {
+            g2d.setColor(Color.RED);
+        }
+        g2d.fillRect(x - 30, y - 55, filledWidth, 8);
+
+        // Контур шкалы
+        g2d.setColor(Color.BLACK);
+        g2d.drawRect(x - 30, y - 55, barWidth, 8);
+    }
+
+    private void drawSpeechBubble(Graphics2D g2d, int x, int y, String symbol) {
+        g2d.setColor(BUBBLE_COLOR);
+        g2d.fillOval(x, y, 20, 20);
+        g2d.setColor(Color.BLACK);
+        g2d.drawOval(x, y, 20, 20);
+        g2d.setFont(BOLD_FONT);
+        g2d.drawString(symbol, x + 5, y + 15);
+    }
+
+    private void drawPlayer(Graphics2D g2d, RenderSnapshot snapshot, double alpha) {
+        int x = snapshot.getPlayerX(alpha);
+        int y = snapshot.getPlayerY(alpha);
+        drawSprite(g2d, x, y, SpriteCache.key(SpriteCache.PLAYER, 0, 0), PLAYER_BOUNDS, this::paintPlayer);
+
+        // Если несет блюдо
+        if (snapshot.getCarriedDish() != null) {
+            drawDish(g2d, x + 20, y - 30, snapshot.getCarriedDish());
+        }
+    }
+
+    private void paintPlayer(Graphics2D g2d) {
+        int x = 0;
+        int y = 0;
+
+        // Тень
+        g2d.setColor(new Color(0, 0, 0, 50));
+        g2d.fillOval(x - 22, y + 12, 44, 10);
+
+        // Тело Снежка (белый круг)
+        g2d.setColor(Color.WHITE);
+        g2d.fillOval(x - 25, y - 25, 50, 50);
+
+        // Детали Снежка
+        g2d.setColor(new Color(200, 200, 200));
+        g2d.drawOval(x - 25, y - 25, 50, 50);
+
+        // Глаза
+        g2d.setColor(Color.BLACK);
+        g2d.fillOval(x - 10, y - 10, 8, 8);
+        g2d.fillOval(x + 2, y - 10, 8, 8);
+
+        // Блеск в глазах
+        g2d.setColor(Color.WHITE);
+        g2d.fillOval(x - 8, y - 8, 3, 3);
+        g2d.fillOval(x + 4, y - 8, 3, 3);
+
+        // Улыбка
+        g2d.setColor(Color.BLACK);
+        g2d.drawArc(x - 8, y - 3, 16, 10, 0, -180);
+
+        // Нос-морковка
+        g2d.setColor(Color.ORANGE);
+        Polygon nose = new Polygon();
+        nose.addPoint(x, y - 5);
+        nose.addPoint(x - 4, y);
+        nose.addPoint(x + 4, y);
+        g2d.fillPolygon(nose);
+    }
+
+    private void drawDish(Graphics2D g2d, int x, int y, Dish dish) {
+        drawSprite(g2d, x, y, SpriteCache.key(SpriteCache.DISH, dish.getId(), dish.getColor().getRGB()),
+                DISH_BOUNDS, sprite -> paintDish(sprite, dish));
+    }
+
+    private void paintDish(Graphics2D g2d, Dish dish) {
+        int x = 0;
+        int y = 0;
+
+        // Тарелка
+        g2d.setColor(Color.WHITE);
+        g2d.fillOval(x, y, 25, 25);
+        g2d.setColor(Color.LIGHT_GRAY);
+        g2d.drawOval(x, y, 25, 25);
+
+        // Еда
+        g2d.setColor(dish.getColor());
+        g2d.fillOval(x + 5, y + 5, 15, 15);
+
+        // Пар от горячего блюда
+        if (dish.getName().equals("Суп") || dish.getName().equals("Паста")) {
+            g2d.setColor(new Color(200, 200, 255, 150));
+            for (int i = 0; i < 3; i++) {
+                g2d.fillOval(x + 28, y + 5 + i * 6, 4, 4);
+            }
+        }
+
+        // Название блюда
+        g2d.setColor(Color.BLACK);
+        g2d.setFont(DISH_LABEL_FONT);
+        String name = dish.getName().length() > 4 ? dish.getName().substring(0, 4) : dish.getName();
+        g2d.drawString(name, x + 5, y + 35);
+    }
+
+    private void drawKitchenOrders(Graphics2D g2d, RenderSnapshot snapshot) {
+        int startX = 50;
+        int startY = 190;
+
+        g2d.setColor(Color.BLACK);
+        g2d.setFont(BOLD_FONT);
+        g2d.drawString("Готовые заказы:", 45, 185);
+
+        for (int i = 0; i < snapshot.getReadyCount() && i < RenderSnapshot.READY_DISHES_SHOWN; i++) {
+            Dish dish = snapshot.getReadyDish(i);
+            drawDish(g2d, startX, startY + i * 35, dish);
+        }
+    }
+
+    private void drawUI(Graphics2D g2d, RenderSnapshot snapshot) {
+        // Подсказки управления
+        g2d.setColor(new Color(0, 0, 0, 180));
+        g2d.setFont(PLAIN_FONT);
+        g2d.drawString("Управление: ←↑↓→ двигаться, ПРОБЕЛ взаимодействовать, K кухня, D выбросить, O заказ, H помощь", 10, getHeight() - 25);
+
+        // Информация о несомом блюде
+        if (snapshot.getCarriedDish() != null) {
+            g2d.setColor(Color.RED);
+            g2d.setFont(BOLD_FONT);
+            g2d.drawString("Несёте: " + snapshot.getCarriedDish().getName(), 10, getHeight() - 10);
+        }
+
+
+        // Предупреждение о фокусе
+        if (!hasFocus()) {
+            g2d.setColor(new Color(255, 50, 50, 200));
+            g2d.setFont(TABLE_NUMBER_FONT);
+            String message = "🔴 КЛИКНИТЕ СЮДА ДЛЯ УПРАВЛЕНИЯ";
+            int textWidth = g2d.getFontMetrics().stringWidth(message);
+            g2d.drawString(message, (getWidth() - textWidth) / 2, 40);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+
+// Безголовый прогон смен без Swing:
+// java HeadlessSimulation [смен] [тиков на смену] [тиков/с, 0 = без ограничений] [интервал прихода клиентов]
+//                         [очков для победы, 0 = смена идёт до конца]
+// Политика кухни и число плит - через -Drestaurant.kitchen.policy / stations, зерно - -Drestaurant.seed,
+// -Drestaurant.eventlog=путь - записать первую смену в журнал для EventLogReplay,
+// -Drestaurant.resume=путь - начать первую смену со снимка ModelSnapshot,
+// -Drestaurant.checkpoint=путь [-Drestaurant.checkpoint.every=тиков] - сохранять снимок первой смены по ходу
+public class HeadlessSimulation {
+    public static void main(String[] args) throws IOException {
+        int shifts = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        long maxTicks = args.length > 1 ? Long.parseLong(args[1]) : 6000;
+        int tickRate = args.length > 2 ? Integer.parseInt(args[2]) : SimulationEngine.UNLIMITED;
+        int arrivalInterval = args.length > 3 ? Integer.parseInt(args[3]) : 40;
+        int winScore = args.length > 4 ? Integer.parseInt(args[4]) : 100;
+        GameMetrics.start();
+
+        int won = 0;
+        int lost = 0;
+        long totalTicks = 0;
+        long[] arrived = new long[1];
+        long[] leftAngry = new long[1];
+        double queueWait = 0;
+        double utilization = 0;
+        double dishesPerMinute = 0;
+        String policy = null;
+        SimRandom random = SimRandom.fromSystemProperties(); // у каждой смены свой генератор, отщеплённый от общего
+        RestaurantLayout layout = RestaurantLayout.fromSystemProperties();
+        long start = System.nanoTime();
+        for (int i = 0; i < shifts; i++) {
+            RestaurantModel model = i == 0 && System.getProperty("restaurant.resume") != null
+                    ? ModelSnapshot.load(Paths.get(System.getProperty("restaurant.resume")))
+                    : new RestaurantModel(layout, random.split());
+            model.setPersistOrders(false);
+            model.setWinScore(winScore > 0 ? winScore : Integer.MAX_VALUE);
+            model.getEventBus().subscribe(RestaurantEventType.CUSTOMER_ADDED, event -> arrived[0]++);
+            model.getEventBus().subscribe(RestaurantEventType.CUSTOMER_LEFT, event -> leftAngry[0]++);
+
+            if (i == 0 && System.getProperty("restaurant.eventlog") != null) {
+                model.startEventLog(Paths.get(System.getProperty("restaurant.eventlog")));
+            }
+
+            SimulationEngine engine = new SimulationEngine(model, tickRate);
+            engine.addTickListener(new ShiftAutopilot(arrivalInterval));
+            CompletableFuture<?>[] checkpointWrite = new CompletableFuture<?>[1];
+            if (i == 0 && System.getProperty("restaurant.checkpoint") != null) {
+                Path checkpoint = Paths.get(System.getProperty("restaurant.checkpoint"));
+                long every = Long.getLong("restaurant.checkpoint.every", 1000);
+                engine.addTickListener((m, tick) -> {
+                    if (tick % every == 0) {
+                        checkpointWrite[0] = ModelSnapshot.save(m, checkpoint);
+                    }
+                });
+            }
+            totalTicks += engine.run(maxTicks);
+            model.closeEventLog();
+            if (checkpointWrite[0] != null) {
+                checkpointWrite[0].join(); // последний снимок должен дойти до диска
+            }
+
+            KitchenMetrics metrics = model.getKitchen().getMetrics();
+            queueWait += metrics.getAverageQueueWaitTicks();
+            utilization += metrics.getUtilization();
+            dishesPerMinute += metrics.getDishesPerMinute();
+            policy = KitchenPolicy.nameOf(model.getKitchen().getPolicy());
+
+            if (!model.isGameRunning()) {
+                if (model.getScore() >= model.getWinScore()) {
+                    won++;
+                } else {
+                    lost++;
+                }
+            }
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println("Зерно: " + random.getSeed());
+        System.out.printf("Смен: %d | Побед: %d | Поражений: %d | Тиков: %d%n", shifts, won, lost, totalTicks);
+        System.out.printf("Время: %.2f с | %.0f смен/с | %.0f тиков/с%n",
+                seconds, shifts / seconds, totalTicks / seconds);
+        System.out.printf("Кухня (%s): клиентов %d, ушли без блюда %d (%.1f%%) | ожидание %.1f тиков | загрузка плит %.0f%% | %.1f блюд/мин%n",
+                policy, arrived[0], leftAngry[0], arrived[0] == 0 ? 0 : leftAngry[0] * 100.0 / arrived[0],
+                queueWait / shifts, utilization / shifts * 100, dishesPerMinute / shifts);
+    }
+}
@@ -0,0 +1,86 @@
+import java.nio.ByteBuffer;
+
+// Метрики кухни: ожидание в очереди, загрузка плит, пропускная способность
+public class KitchenMetrics {
+    private static final int TICKS_PER_MINUTE = SimulationEngine.DEFAULT_TICK_RATE * 60; // игровая минута
+
+    private final int stations;
+    private long elapsedTicks;
+    private long busyStationTicks;
+    private long started;
+    private long completed;
+    private long rejected;
+    private long totalQueueWait;
+    private long maxQueueWait;
+
+    public KitchenMetrics(int stations) {
+        this.stations = stations;
+    }
+
+    void recordTick(int busyStations) {
+        elapsedTicks++;
+        busyStationTicks += busyStations;
+    }
+
+    void recordStart(long queueWaitTicks) {
+        started++;
+        totalQueueWait += queueWaitTicks;
+        maxQueueWait = Math.max(maxQueueWait, queueWaitTicks);
+    }
+
+    void recordCompleted() {
+        completed++;
+    }
+
+    void recordRejected() {
+        rejected++;
+    }
+
+    void writeState(ByteBuffer out) {
+        Varint.put(out, elapsedTicks);
+        Varint.put(out, busyStationTicks);
+        Varint.put(out, started);
+        Varint.put(out, completed);
+        Varint.put(out, rejected);
+        Varint.put(out, totalQueueWait);
+        Varint.put(out, maxQueueWait);
+    }
+
+    void readState(ByteBuffer in) {
+        elapsedTicks = Varint.get(in);
+        busyStationTicks = Varint.get(in);
+        started = Varint.get(in);
+        completed = Varint.get(in);
+        rejected = Varint.get(in);
+        totalQueueWait = Varint.get(in);
+        maxQueueWait = Varint.get(in);
+    }
+
+    public double getAverageQueueWaitTicks() {
+        return started == 0 ? 0 : (double) totalQueueWait / started;
+    }
+
+    public long getMaxQueueWaitTicks() { return maxQueueWait; }
+
+    // Доля времени, когда плиты заняты (0..1)
+    public double getUtilization() {
+        return elapsedTicks == 0 ? 0 : (double) busyStationTicks / (elapsedTicks * stations);
+    }
+
+    // Готовых блюд за игровую минуту (при 20 тиках/с)
+    public double getDishesPerMinute() {
+        return elapsedTicks == 0 ? 0 : completed * (double) TICKS_PER_MINUTE / elapsedTicks;
+    }
+
+    public long getStarted() { return started; }
+    public long getCompleted() { return completed; }
+    public long getRejected() { return rejected; }
+    public long getElapsedTicks() { return elapsedTicks; }
+    public int getStations() { return stations; }
+
+    @Override
+    public String toString() {
+        return String.format("ожидание %.1f тиков (макс. %d) | загрузка плит %.0f%% | %.1f блюд/мин | отказов %d",
+                getAverageQueueWaitTicks(), maxQueueWait, getUtilization() * 100, getDishesPerMinute(), rejected);
+    }
+}
@@ -0,0 +1,33 @@
+// Политика выбора следующего заказа для освободившейся плиты.
+// Меньший приоритет - раньше на плиту; sequence - порядковый номер заказа, для равных приоритетов
+public interface KitchenPolicy {
+    long priority(Dish dish, long customerDeadline, long sequence);
+
+    // В порядке поступления
+    KitchenPolicy FIFO = (dish, customerDeadline, sequence) -> sequence;
+
+    // Раньше тот, чей клиент раньше потеряет терпение; заказы официанта (без клиента) - последними
+    KitchenPolicy EARLIEST_DEADLINE = (dish, customerDeadline, sequence) ->
+            customerDeadline == Long.MAX_VALUE ? Long.MAX_VALUE : (customerDeadline << 20) | (sequence & 0xFFFFF);
+
+    // Сначала самые быстрые блюда
+    KitchenPolicy SHORTEST_JOB = (dish, customerDeadline, sequence) ->
+            ((long) dish.getCookTicks() << 40) | (sequence & 0xFF_FFFF_FFFFL);
+
+    // fifo / edf / sjf
+    static KitchenPolicy byName(String name) {
+        switch (name.trim().toLowerCase()) {
+            case "fifo": return FIFO;
+            case "edf": return EARLIEST_DEADLINE;
+            case "sjf": return SHORTEST_JOB;
+            default: throw new IllegalArgumentException("Неизвестная политика кухни: " + name + " (fifo, edf, sjf)");
+        }
+    }
+
+    static String nameOf(KitchenPolicy policy) {
+        if (policy == FIFO) return "fifo";
+        if (policy == EARLIEST_DEADLINE) return "edf";
+        if (policy == SHORTEST_JOB) return "sjf";
+        return policy.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,279 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Кухня с несколькими плитами (поварами). Заказ ждёт в очереди, пока освободится плита;
+// какой заказ пойдёт следующим, решает KitchenPolicy. Время готовки - из меню (Dish.getCookTicks).
+// Тикеты хранятся в пуле слотов на примитивных массивах, тик без аллокаций.
+public class KitchenScheduler {
+    public static final int DEFAULT_CAPACITY = 10;
+    public static final int DEFAULT_STATIONS = 3;
+
+    private static final int SLOT_BITS = 20;
+    private static final long SLOT_MASK = (1L << SLOT_BITS) - 1;
+
+    public interface CompletionListener {
+        void ticketCompleted(long ticketId, Dish dish);
+    }
+
+    private final int capacity; // очередь + плиты
+    private final int stations;
+    private final KitchenPolicy policy;
+    private final KitchenMetrics metrics;
+
+    private final Dish[] dishes;
+    private final long[] ticketIds;
+    private final long[] orderTicks;
+    private final long[] startTicks;  // -1 - ещё в очереди
+    private final int[] cookTicks;
+    private final int[] remaining;
+
+    private final int[] freeSlots;
+    private int freeCount;
+    private final int[] active;       // занятые слоты; в порядке поступления, если !orderDirty
+    private final int[] activeIndex;
+    private int activeCount;
+    private boolean orderDirty;       // release() переставил слоты, порядок чинится при чтении по позиции
+    private final long[] sortKeys;    // номера тикетов для сортировки без аллокаций
+    private final int[] cooking;      // слоты на плитах
+    private int cookingCount;
+    private final DeadlineHeap waiting; // слот -> приоритет политики
+    private final int[] completed;    // буфер готовых слотов на время одного тика
+
+    private long nextSequence = 1;
+
+    public KitchenScheduler(int capacity, int stations, KitchenPolicy policy) {
+        if (capacity <= 0 || capacity > SLOT_MASK) {
+            throw new IllegalArgumentException("Некорректная вместимость кухни: " + capacity);
+        }
+        if (stations <= 0) {
+            throw new IllegalArgumentException("Некорректное число плит: " + stations);
+        }
+        this.capacity = capacity;
+        this.stations = stations;
+        this.policy = policy;
+        this.metrics = new KitchenMetrics(stations);
+        dishes = new Dish[capacity];
+        ticketIds = new long[capacity];
+        orderTicks = new long[capacity];
+        startTicks = new long[capacity];
+        cookTicks = new int[capacity];
+        remaining = new int[capacity];
+        freeSlots = new int[capacity];
+        active = new int[capacity];
+        activeIndex = new int[capacity];
+        sortKeys = new long[capacity];
+        cooking = new int[Math.min(stations, capacity)];
+        waiting = new DeadlineHeap(capacity);
+        completed = new int[capacity];
+        for (int i = 0; i < capacity; i++) {
+            freeSlots[i] = capacity - 1 - i;
+        }
+        freeCount = capacity;
+    }
+
+    // -Drestaurant.kitchen.capacity / stations / policy=fifo|edf|sjf
+    public static KitchenScheduler fromSystemProperties() {
+        return new KitchenScheduler(
+                Integer.getInteger("restaurant.kitchen.capacity", DEFAULT_CAPACITY),
+                Integer.getInteger("restaurant.kitchen.stations", DEFAULT_STATIONS),
+                KitchenPolicy.byName(System.getProperty("restaurant.kitchen.policy", "fifo")));
+    }
+
+    // customerDeadline - тик, когда клиент уйдёт (Long.MAX_VALUE - заказ без клиента).
+    // Возвращает номер тикета или -1, если кухня заполнена
+    public long add(Dish dish, long tick, long customerDeadline) {
+        if (freeCount == 0) {
+            metrics.recordRejected();
+            return -1;
+        }
+        int slot = freeSlots[--freeCount];
+        long sequence = nextSequence++;
+        long ticketId = (sequence << SLOT_BITS) | slot;
+        dishes[slot] = dish;
+        ticketIds[slot] = ticketId;
+        orderTicks[slot] = tick;
+        startTicks[slot] = -1;
+        cookTicks[slot] = Math.max(1, dish.getCookTicks());
+        remaining[slot] = cookTicks[slot];
+        activeIndex[slot] = activeCount;
+        active[activeCount++] = slot;
+        waiting.add(slot, policy.priority(dish, customerDeadline, sequence));
+        return ticketId;
+    }
+
+    // Один тик кухни: занять свободные плиты, поготовить, отдать готовое слушателю
+    public void tick(long now, CompletionListener listener) {
+        while (cookingCount < cooking.length && !waiting.isEmpty()) {
+            int slot = waiting.poll();
+            startTicks[slot] = now;
+            cooking[cookingCount++] = slot;
+            metrics.recordStart(now - orderTicks[slot]);
+        }
+        metrics.recordTick(cookingCount);
+
+        int completedCount = 0;
+        int write = 0;
+        for (int read = 0; read < cookingCount; read++) {
+            int slot = cooking[read];
+            if (--remaining[slot] <= 0) {
+                completed[completedCount++] = slot;
+            } else {
+                cooking[write++] = slot;
+            }
+        }
+        cookingCount = write;
+
+        // Слушатель может сразу заказать новое блюдо, поэтому слоты освобождаем до вызова
+        for (int i = 0; i < completedCount; i++) {
+            int slot = completed[i];
+            Dish dish = dishes[slot];
+            long ticketId = ticketIds[slot];
+            release(slot);
+            metrics.recordCompleted();
+            listener.ticketCompleted(ticketId, dish);
+        }
+    }
+
+    private void release(int slot) {
+        dishes[slot] = null;
+        ticketIds[slot] = 0;
+        // На место освободившегося - последний, O(1). Порядок поступления восстанавливает ordered()
+        int index = activeIndex[slot];
+        int last = active[--activeCount];
+        if (index != activeCount) {
+            active[index] = last;
+            activeIndex[last] = index;
+            orderDirty = true;
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    // Занятые слоты в порядке поступления. Старшие биты номера тикета - порядковый номер заказа,
+    // а младшие - сам слот, так что достаточно отсортировать номера тикетов.
+    // Сортируем, только если с прошлого чтения что-то готово, - не на каждый готовый тикет
+    private int[] ordered() {
+        if (orderDirty) {
+            for (int i = 0; i < activeCount; i++) {
+                sortKeys[i] = ticketIds[active[i]];
+            }
+            Arrays.sort(sortKeys, 0, activeCount);
+            for (int i = 0; i < activeCount; i++) {
+                int slot = (int) (sortKeys[i] & SLOT_MASK);
+                active[i] = slot;
+                activeIndex[slot] = i;
+            }
+            orderDirty = false;
+        }
+        return active;
+    }
+
+    // Настройки кухни (не состояние) - для журнала и снимков смены
+    void writeConfig(ByteBuffer out) {
+        Varint.put(out, capacity);
+        Varint.put(out, stations);
+        byte[] name = KitchenPolicy.nameOf(policy).getBytes(StandardCharsets.UTF_8);
+        Varint.put(out, name.length);
+        out.put(name);
+    }
+
+    static KitchenScheduler readConfig(ByteBuffer in) {
+        int capacity = Varint.getInt(in);
+        int stations = Varint.getInt(in);
+        byte[] name = new byte[Varint.getInt(in)];
+        in.get(name);
+        return new KitchenScheduler(capacity, stations, KitchenPolicy.byName(new String(name, StandardCharsets.UTF_8)));
+    }
+
+    // Снимок для ModelSnapshot: слоты, очередь с приоритетами и плиты - в том же порядке,
+    // чтобы восстановленная кухня выдавала блюда ровно так же
+    void writeState(ByteBuffer out) {
+        Varint.put(out, nextSequence);
+        Varint.put(out, freeCount);
+        for (int i = 0; i < freeCount; i++) {
+            Varint.put(out, freeSlots[i]);
+        }
+        int[] ordered = ordered();
+        Varint.put(out, activeCount);
+        for (int i = 0; i < activeCount; i++) {
+            int slot = ordered[i];
+            Varint.put(out, slot);
+            Varint.put(out, dishes[slot].getId());
+            Varint.put(out, ticketIds[slot]);
+            Varint.put(out, orderTicks[slot]);
+            Varint.putSigned(out, startTicks[slot]);
+            Varint.put(out, cookTicks[slot]);
+            Varint.put(out, remaining[slot]);
+        }
+        Varint.put(out, cookingCount);
+        for (int i = 0; i < cookingCount; i++) {
+            Varint.put(out, cooking[i]);
+        }
+        waiting.writeState(out);
+        metrics.writeState(out);
+    }
+
+    // Только в пустую кухню той же вместимости
+    void readState(ByteBuffer in, DishCatalog menu) {
+        if (activeCount != 0) {
+            throw new IllegalStateException("Кухня не пуста");
+        }
+        nextSequence = Varint.get(in);
+        freeCount = Varint.getInt(in);
+        for (int i = 0; i < freeCount; i++) {
+            freeSlots[i] = Varint.getInt(in);
+        }
+        int count = Varint.getInt(in);
+        for (int i = 0; i < count; i++) {
+            int slot = Varint.getInt(in);
+            dishes[slot] = menu.get(Varint.getInt(in));
+            ticketIds[slot] = Varint.get(in);
+            orderTicks[slot] = Varint.get(in);
+            startTicks[slot] = Varint.getSigned(in);
+            cookTicks[slot] = Varint.getInt(in);
+            remaining[slot] = Varint.getInt(in);
+            activeIndex[slot] = activeCount;
+            active[activeCount++] = slot;
+        }
+        cookingCount = Varint.getInt(in);
+        for (int i = 0; i < cookingCount; i++) {
+            cooking[i] = Varint.getInt(in);
+        }
+        waiting.readState(in);
+        metrics.readState(in);
+    }
+
+    // Прогресс тикета в процентах (0 - ещё в очереди) или -1, если тикет уже готов или не существует
+    public int getProgress(long ticketId) {
+        int slot = (int) (ticketId & SLOT_MASK);
+        if (ticketId <= 0 || slot >= capacity || ticketIds[slot] != ticketId) {
+            return -1;
+        }
+        return progressOf(slot);
+    }
+
+    private int progressOf(int slot) {
+        return (cookTicks[slot] - remaining[slot]) * 100 / cookTicks[slot];
+    }
+
+    public boolean contains(long ticketId) {
+        return getProgress(ticketId) >= 0;
+    }
+
+    // Доступ по позиции в порядке поступления (0 - самый ранний заказ)
+    public Dish dishAt(int index) { return dishes[ordered()[index]]; }
+    public long ticketIdAt(int index) { return ticketIds[ordered()[index]]; }
+    public long orderTickAt(int index) { return orderTicks[ordered()[index]]; }
+    public boolean isCookingAt(int index) { return startTicks[ordered()[index]] >= 0; }
+    public int progressAt(int index) { return progressOf(ordered()[index]); }
+
+    public int size() { return activeCount; }
+    public int getWaitingCount() { return waiting.size(); }
+    public int getCookingCount() { return cookingCount; }
+    public boolean isEmpty() { return activeCount == 0; }
+    public boolean isFull() { return freeCount == 0; }
+    public int getCapacity() { return capacity; }
+    public int getStations() { return stations; }
+    public KitchenPolicy getPolicy() { return policy; }
+    public KitchenMetrics getMetrics() { return metrics; }
+}
@@ -6,19 +6,56 @@ public class MainApp2 {
         // 1. Инициализируем базу данных
         Database.initDatabase();
 
+        // -Drestaurant.edt.stallMs=16 - печатать стек EDT, если событие обрабатывается дольше порога
+        EdtWatchdog.installFromSystemProperties();
+
+        // Гистограммы в MBean restaurant:type=GameMetrics, -Drestaurant.metrics.csv=файл - ещё и в CSV
+        GameMetrics.start();
+
         SwingUtilities.invokeLater(() -> {
             // Показываем приветственное окно
             showWelcomeDialog();
 
             // Запускаем игру
-            RestaurantModel model = new RestaurantModel();
+            RestaurantModel model = createModel();
+            startEventLog(model);
             RestaurantController controller = new RestaurantController(model);
             RestaurantView view = new RestaurantView(controller, model);
             controller.setView(view);
             view.setVisible(true);
+            controller.start();
         });
     }
 
+    // -Drestaurant.resume=путь - продолжить смену, сохранённую через "Сохранить смену"
+    private static RestaurantModel createModel() {
+        String path = System.getProperty("restaurant.resume");
+        if (path != null) {
+            try {
+                RestaurantModel model = ModelSnapshot.load(java.nio.file.Paths.get(path));
+                Log.info("✅ Смена восстановлена: {}", path);
+                return model;
+            } catch (java.io.IOException | RuntimeException e) {
+                Log.error("❌ Не удалось восстановить смену: {}", path, e);
+            }
+        }
+        return new RestaurantModel();
+    }
+
+    // -Drestaurant.eventlog=путь - записать смену для воспроизведения через EventLogReplay
+    private static void startEventLog(RestaurantModel model) {
+        String path = System.getProperty("restaurant.eventlog");
+        if (path == null) {
+            return;
+        }
+        try {
+            model.startEventLog(java.nio.file.Paths.get(path));
+            Log.info("✅ Журнал смены: {}", path);
+        } catch (java.io.IOException | IllegalStateException e) {
+            Log.error("❌ Не удалось начать журнал смены: {}", path, e);
+        }
+    }
+
     private static void showWelcomeDialog() {
         String rules = """
             🍕 ДОБРО ПОЖАЛОВАТЬ В РЕСТОРАННЫЙ СИМУЛЯТОР! 🍔
@@ -0,0 +1,93 @@
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Компактный двоичный снимок смены: клиенты, столы, кухня с прогрессом каждого тикета,
+// полка готовых блюд, официант, таймеры ухода, счёт, деньги и состояние генератора.
+// Снимок копируется в массив байт в потоке модели (быстро, без ввода-вывода),
+// а на диск пишется отдельным потоком - тик не ждёт диска.
+// Формат: "RSNP", версия, дальше varint-поля в порядке RestaurantModel.writeState
+public final class ModelSnapshot {
+    static final int MAGIC = 0x52534E50; // "RSNP"
+    static final int VERSION = 1;
+
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "snapshot-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ModelSnapshot() {
+    }
+
+    // Вызывать из потока модели
+    public static byte[] capture(RestaurantModel model) {
+        int capacity = 1024 + model.getLayout().getSeatCount() * 64 + model.getKitchen().getCapacity() * 64
+                + model.getReadyShelf().size() * 5;
+        while (true) {
+            ByteBuffer out = ByteBuffer.allocate(capacity);
+            try {
+                out.putInt(MAGIC);
+                out.put((byte) VERSION);
+                model.writeState(out);
+                return Arrays.copyOf(out.array(), out.position());
+            } catch (BufferOverflowException e) {
+                capacity *= 2; // оценка размера не сработала - пробуем ещё раз с запасом
+            }
+        }
+    }
+
+    public static RestaurantModel restore(byte[] data) {
+        ByteBuffer in = ByteBuffer.wrap(data);
+        if (data.length < 5 || in.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Это не снимок смены");
+        }
+        int version = in.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Неподдерживаемая версия снимка: " + version);
+        }
+        RestaurantModel model;
+        try {
+            model = RestaurantModel.readState(in);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Снимок обрезан: данные кончились в позиции " + in.position(), e);
+        }
+        if (in.hasRemaining()) {
+            throw new IllegalArgumentException("Лишние " + in.remaining() + " байт в конце снимка");
+        }
+        return model;
+    }
+
+    // Снимок берётся сразу (вызывать из потока модели), запись - в фоне
+    public static CompletableFuture<Path> save(RestaurantModel model, Path path) {
+        return write(capture(model), path);
+    }
+
+    // Запись готового снимка в фоне. Файл подменяется атомарно,
+    // так что прерванная запись не портит предыдущий снимок
+    public static CompletableFuture<Path> write(byte[] data, Path path) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                Path absolute = path.toAbsolutePath();
+                Path temp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+                Files.write(temp, data);
+                Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                return path;
+            } catch (IOException e) {
+                throw new IllegalStateException("Не удалось записать снимок " + path, e);
+            }
+        }, WRITER);
+    }
+
+    public static RestaurantModel load(Path path) throws IOException {
+        return restore(Files.readAllBytes(path));
+    }
+}
@@ -1,6 +1,7 @@
 public class Order {
     private Customer customer;
     private Dish dish;
+    private long ticketId; // тикет на кухне, 0 - ещё не передан на кухню
 
     public Order(Customer customer, Dish dish) {
         this.customer = customer;
@@ -9,4 +10,6 @@ public class Order {
 
     public Customer getCustomer() { return customer; }
     public Dish getDish() { return dish; }
+    public long getTicketId() { return ticketId; }
+    public void setTicketId(long ticketId) { this.ticketId = ticketId; }
 }
\ No newline at end of file
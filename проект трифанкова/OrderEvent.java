@@ -1,8 +1,17 @@
+// Неизменяемое событие: копия заказа на момент события
 public class OrderEvent extends RestaurantEvent {
-    private Order order;
-    public OrderEvent(Object source, Order order) {
-        super(source);
-        this.order = order;
+    private final int customerId; // -1 - заказ кухни без клиента
+    private final Dish dish;
+    private final long ticketId;
+    public OrderEvent(Object source, RestaurantEventType<OrderEvent> type, Order order) {
+        super(source, type);
+        this.customerId = order.getCustomer() != null ? order.getCustomer().getId() : -1;
+        this.dish = order.getDish();
+        this.ticketId = order.getTicketId();
     }
-    public Order getOrder() { return order; }
+    public int getCustomerId() { return customerId; }
+    public boolean hasCustomer() { return customerId >= 0; }
+    public Dish getDish() { return dish; }
+    public int getPrice() { return dish.getPrice(); }
+    public long getTicketId() { return ticketId; }
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 public class Player extends GameObject {
+    public static final int SPEED = 12; // пикселей за тик (~240 px/с при 20 тиках/с)
+
     private Dish carriedDish;
+    private int moveX, moveY; // направление, снятое с клавиатуры: -1, 0 или 1
 
     public Player(int x, int y) {
         super(x, y);
@@ -7,4 +10,20 @@ public class Player extends GameObject {
 
     public Dish getCarriedDish() { return carriedDish; }
     public void setCarriedDish(Dish carriedDish) { this.carriedDish = carriedDish; }
+
+    public void setMoveDirection(int dx, int dy) {
+        moveX = Integer.signum(dx);
+        moveY = Integer.signum(dy);
+    }
+
+    public int getMoveX() { return moveX; }
+    public int getMoveY() { return moveY; }
+
+    // Один тик движения
+    public void step() {
+        rememberPosition();
+        if (moveX != 0 || moveY != 0) {
+            move(moveX * SPEED, moveY * SPEED);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,161 @@
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Полка готовых блюд. Счётчик на каждый id блюда плюс общая FIFO-очередь id в порядке готовности.
+// Взять конкретное блюдо - O(1): уменьшаем счётчик и запоминаем "пропуск", а сам элемент
+// выбрасывается из очереди лениво, когда дойдёт до её головы.
+public class ReadyShelf {
+    private final DishCatalog catalog;
+    private int[] counts;
+    private int[] skips;   // сколько самых ранних вхождений id уже забрано вне очереди
+    private int[] scratch; // для обхода очереди без изменения skips
+
+    private int[] queue = new int[16]; // кольцевой буфер id
+    private int head;
+    private int length;
+    private int size;
+
+    public ReadyShelf(DishCatalog catalog) {
+        this.catalog = catalog;
+        counts = new int[Math.max(1, catalog.size())];
+        skips = new int[counts.length];
+        scratch = new int[counts.length];
+    }
+
+    public void add(Dish dish) {
+        int id = catalog.idOf(dish);
+        if (id < 0) {
+            throw new IllegalArgumentException("Блюдо не из меню: " + (dish == null ? null : dish.getName()));
+        }
+        ensureDish(id);
+        if (length == queue.length) {
+            int[] grown = new int[queue.length * 2];
+            for (int i = 0; i < length; i++) {
+                grown[i] = queue[(head + i) % queue.length];
+            }
+            queue = grown;
+            head = 0;
+        }
+        queue[(head + length) % queue.length] = id;
+        length++;
+        counts[id]++;
+        size++;
+    }
+
+    // Самое раннее готовое блюдо или null
+    public Dish takeFirst() {
+        while (length > 0) {
+            int id = queue[head];
+            head = (head + 1) % queue.length;
+            length--;
+            if (skips[id] > 0) {
+                skips[id]--;
+                continue;
+            }
+            counts[id]--;
+            size--;
+            return catalog.get(id);
+        }
+        return null;
+    }
+
+    // Забирает самое раннее блюдо с данным id, null - такого нет
+    public Dish take(int dishId) {
+        if (count(dishId) == 0) {
+            return null;
+        }
+        counts[dishId]--;
+        skips[dishId]++;
+        size--;
+        if (length > 2 * size + 16) {
+            compact(); // если блюда берут только выборочно, очередь не должна расти без предела
+        }
+        return catalog.get(dishId);
+    }
+
+    // Выкидывает из очереди все пропущенные элементы, амортизированно O(1) на take()
+    private void compact() {
+        int[] compacted = new int[Math.max(16, Integer.highestOneBit(Math.max(1, size)) * 2)];
+        int written = 0;
+        for (int i = 0; i < length; i++) {
+            int id = queue[(head + i) % queue.length];
+            if (skips[id] > 0) {
+                skips[id]--;
+            } else {
+                compacted[written++] = id;
+            }
+        }
+        queue = compacted;
+        head = 0;
+        length = written;
+    }
+
+    public int count(int dishId) {
+        return dishId >= 0 && dishId < counts.length ? counts[dishId] : 0;
+    }
+
+    // Первые max блюд в порядке готовности; возвращает, сколько записано
+    public int copyFirst(Dish[] out, int max) {
+        int limit = Math.min(max, size);
+        if (limit == 0) {
+            return 0;
+        }
+        System.arraycopy(skips, 0, scratch, 0, skips.length);
+        int written = 0;
+        for (int i = 0; i < length && written < limit; i++) {
+            int id = queue[(head + i) % queue.length];
+            if (scratch[id] > 0) {
+                scratch[id]--;
+            } else {
+                out[written++] = catalog.get(id);
+            }
+        }
+        return written;
+    }
+
+    // Все готовые блюда по порядку - для диалогов, не для игрового цикла
+    public List<Dish> toList() {
+        Dish[] all = new Dish[size];
+        int count = copyFirst(all, size);
+        List<Dish> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            list.add(all[i]);
+        }
+        return list;
+    }
+
+    // В снимок идут только видимые блюда по порядку - пропуски и ленивый хвост не нужны
+    void writeState(ByteBuffer out) {
+        Varint.put(out, size);
+        System.arraycopy(skips, 0, scratch, 0, skips.length);
+        for (int i = 0; i < length; i++) {
+            int id = queue[(head + i) % queue.length];
+            if (scratch[id] > 0) {
+                scratch[id]--;
+            } else {
+                Varint.put(out, id);
+            }
+        }
+    }
+
+    void readState(ByteBuffer in) {
+        int count = Varint.getInt(in);
+        for (int i = 0; i < count; i++) {
+            add(catalog.get(Varint.getInt(in)));
+        }
+    }
+
+    private void ensureDish(int id) {
+        if (id >= counts.length) {
+            int length = Math.max(id + 1, counts.length * 2);
+            counts = Arrays.copyOf(counts, length);
+            skips = Arrays.copyOf(skips, length);
+            scratch = new int[length];
+        }
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+}
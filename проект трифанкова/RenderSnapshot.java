@@ -0,0 +1,166 @@
+import java.awt.*;
+import java.util.Arrays;
+import java.util.List;
+
+// Всё, что нужно для отрисовки одного кадра, скопированное из модели на тике.
+// Экземпляры переиспользуются через TripleBuffer: после публикации снимок не меняется,
+// пока читатель его не вернёт, поэтому рендерер работает без блокировок и копий списков.
+public class RenderSnapshot {
+    public static final int READY_DISHES_SHOWN = 3;
+
+    // Состояние клиента для иконки над головой
+    public static final byte CUSTOMER_IDLE = 0;
+    public static final byte CUSTOMER_WANTS_ORDER = 1;
+    public static final byte CUSTOMER_WAITING = 2;
+    public static final byte CUSTOMER_SERVED = 3;
+
+    private long tick;
+    private long tickTimeNanos;
+    private long tickNanos;
+
+    private int trashBinX, trashBinY;
+    private int playerPrevX, playerPrevY, playerX, playerY;
+    private Dish carriedDish;
+
+    private int customerCount;
+    private int[] customerX = new int[0];
+    private int[] customerY = new int[0];
+    private int[] customerPatience = new int[0];
+    private int[] customerMaxPatience = new int[0];
+    private Color[] customerColor = new Color[0];
+    private byte[] customerState = new byte[0];
+
+    private int tableCount;
+    private int[] tableX = new int[0];
+    private int[] tableY = new int[0];
+    private int[] tableNumber = new int[0];
+    private boolean[] tableClean = new boolean[0];
+
+    private int cookingCount;
+    private Dish[] cookingDish = new Dish[0];
+    private int[] cookingProgress = new int[0];
+
+    private int readyCount;
+    private final Dish[] readyDish = new Dish[READY_DISHES_SHOWN];
+
+    // Вызывается на потоке симуляции. nowNanos/alpha - момент снятия и доля до следующего тика
+    public void capture(RestaurantModel model, long nowNanos, double alpha, long tickNanos) {
+        this.tick = model.getCurrentTick();
+        this.tickNanos = tickNanos;
+        this.tickTimeNanos = nowNanos - (long) (alpha * tickNanos);
+
+        trashBinX = model.getTrashBinX();
+        trashBinY = model.getTrashBinY();
+
+        Player player = model.getPlayer();
+        playerPrevX = player.getPrevX();
+        playerPrevY = player.getPrevY();
+        playerX = player.getX();
+        playerY = player.getY();
+        carriedDish = player.getCarriedDish();
+
+        CustomerStore customers = model.getCustomerStore();
+        customerCount = customers.size();
+        if (customerX.length < customerCount) {
+            int capacity = Math.max(customerCount, customerX.length * 2);
+            customerX = Arrays.copyOf(customerX, capacity);
+            customerY = Arrays.copyOf(customerY, capacity);
+            customerPatience = Arrays.copyOf(customerPatience, capacity);
+            customerMaxPatience = Arrays.copyOf(customerMaxPatience, capacity);
+            customerColor = Arrays.copyOf(customerColor, capacity);
+            customerState = Arrays.copyOf(customerState, capacity);
+        }
+        // Читаем массивы хранилища напрямую, без объектов Customer
+        for (int i = 0; i < customerCount; i++) {
+            int slot = customers.activeSlot(i);
+            customerX[i] = customers.getX(slot);
+            customerY[i] = customers.getY(slot);
+            customerPatience[i] = customers.getPatience(slot, tick);
+            customerMaxPatience[i] = CustomerStore.MAX_PATIENCE;
+            customerColor[i] = customers.getColor(slot);
+            byte orderState = customers.getOrderState(slot);
+            if (orderState == CustomerStore.SERVED) {
+                customerState[i] = CUSTOMER_SERVED;
+            } else if (orderState == CustomerStore.ORDERED) {
+                customerState[i] = CUSTOMER_WAITING;
+            } else if (customers.getDishId(slot) >= 0) {
+                customerState[i] = CUSTOMER_WANTS_ORDER;
+            } else {
+                customerState[i] = CUSTOMER_IDLE;
+            }
+        }
+        Arrays.fill(customerColor, customerCount, customerColor.length, null);
+
+        List<Table> tables = model.getTables();
+        tableCount = tables.size();
+        if (tableX.length < tableCount) {
+            tableX = new int[tableCount];
+            tableY = new int[tableCount];
+            tableNumber = new int[tableCount];
+            tableClean = new boolean[tableCount];
+        }
+        for (int i = 0; i < tableCount; i++) {
+            Table table = tables.get(i);
+            tableX[i] = table.getX();
+            tableY[i] = table.getY();
+            tableNumber[i] = table.getTableNumber();
+            tableClean[i] = table.isClean();
+        }
+
+        KitchenScheduler kitchen = model.getKitchen();
+        cookingCount = kitchen.size();
+        if (cookingDish.length < cookingCount) {
+            cookingDish = new Dish[kitchen.getCapacity()];
+            cookingProgress = new int[kitchen.getCapacity()];
+        }
+        for (int i = 0; i < cookingCount; i++) {
+            cookingDish[i] = kitchen.dishAt(i);
+            cookingProgress[i] = kitchen.progressAt(i);
+        }
+        Arrays.fill(cookingDish, cookingCount, cookingDish.length, null);
+
+        ReadyShelf shelf = model.getReadyShelf();
+        readyCount = shelf.size();
+        Arrays.fill(readyDish, null);
+        shelf.copyFirst(readyDish, READY_DISHES_SHOWN);
+    }
+
+    // Доля пути от прошлого тика к текущему на момент nowNanos (0..1)
+    public double alphaAt(long nowNanos) {
+        if (tickNanos <= 0) {
+            return 1.0;
+        }
+        double alpha = (double) (nowNanos - tickTimeNanos) / tickNanos;
+        return alpha < 0 ? 0 : Math.min(1.0, alpha);
+    }
+
+    public long getTick() { return tick; }
+
+    public int getTrashBinX() { return trashBinX; }
+    public int getTrashBinY() { return trashBinY; }
+
+    public int getPlayerX(double alpha) { return (int) Math.round(playerPrevX + (playerX - playerPrevX) * alpha); }
+    public int getPlayerY(double alpha) { return (int) Math.round(playerPrevY + (playerY - playerPrevY) * alpha); }
+    public Dish getCarriedDish() { return carriedDish; }
+
+    public int getCustomerCount() { return customerCount; }
+    public int getCustomerX(int i) { return customerX[i]; }
+    public int getCustomerY(int i) { return customerY[i]; }
+    public int getCustomerPatience(int i) { return customerPatience[i]; }
+    public int getCustomerMaxPatience(int i) { return customerMaxPatience[i]; }
+    public Color getCustomerColor(int i) { return customerColor[i]; }
+    public byte getCustomerState(int i) { return customerState[i]; }
+
+    public int getTableCount() { return tableCount; }
+    public int getTableX(int i) { return tableX[i]; }
+    public int getTableY(int i) { return tableY[i]; }
+    public int getTableNumber(int i) { return tableNumber[i]; }
+    public boolean isTableClean(int i) { return tableClean[i]; }
+
+    public int getCookingCount() { return cookingCount; }
+    public Dish getCookingDish(int i) { return cookingDish[i]; }
+    public int getCookingProgress(int i) { return cookingProgress[i]; }
+
+    public int getReadyCount() { return readyCount; }
+    public Dish getReadyDish(int i) { return readyDish[i]; }
+}
@@ -0,0 +1,128 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Сеть из множества независимых ресторанов в одном процессе. Смены прогоняются параллельно
+// в ForkJoinPool: диапазон ресторанов делится пополам, пока куски не станут мелкими,
+// каждый ресторан целиком принадлежит одной задаче - общих данных между потоками нет.
+// Запуск: java RestaurantChain [ресторанов] [тиков на смену] [потоков] [интервал прихода клиентов]
+// Зерно сети - -Drestaurant.seed, у каждого ресторана свой генератор, отщеплённый от него
+public class RestaurantChain {
+    private static final int CHUNKS_PER_THREAD = 8; // запас кусков, чтобы простаивающие потоки могли украсть работу
+
+    private final Branch[] branches;
+    private final ChainStats stats = new ChainStats();
+
+    // Один ресторан сети со своим движком и счётчиками - трогает их только поток, который его считает
+    private static final class Branch {
+        final RestaurantModel model;
+        final SimulationEngine engine;
+        long arrived;
+        long customersLeft;
+        long served;
+
+        Branch(RestaurantLayout layout, SimRandom random, int arrivalInterval) {
+            model = new RestaurantModel(layout, random);
+            model.setPersistOrders(false);
+            model.getEventBus().subscribe(RestaurantEventType.CUSTOMER_ADDED, event -> arrived++);
+            model.getEventBus().subscribe(RestaurantEventType.CUSTOMER_LEFT, event -> customersLeft++);
+            model.getEventBus().subscribe(RestaurantEventType.ORDER_SERVED, event -> served++);
+            engine = new SimulationEngine(model, SimulationEngine.UNLIMITED);
+            engine.addTickListener(new ShiftAutopilot(arrivalInterval));
+        }
+
+        void runShift(long maxTicks, ChainStats stats) {
+            long ticks = engine.run(maxTicks);
+            boolean finished = !model.isGameRunning();
+            boolean won = finished && model.getScore() >= model.getWinScore();
+            stats.addShift(ticks, arrived, customersLeft, served, model.getMoney(), won, finished && !won);
+            arrived = 0;
+            customersLeft = 0;
+            served = 0;
+        }
+    }
+
+    private final class Shift extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int chunk;
+        private final long maxTicks;
+
+        Shift(int from, int to, int chunk, long maxTicks) {
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+            this.maxTicks = maxTicks;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunk) {
+                for (int i = from; i < to; i++) {
+                    branches[i].runShift(maxTicks, stats);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Shift(from, middle, chunk, maxTicks), new Shift(middle, to, chunk, maxTicks));
+        }
+    }
+
+    public RestaurantChain(int restaurants, RestaurantLayout layout, int arrivalInterval) {
+        this(restaurants, layout, SimRandom.fromSystemProperties(), arrivalInterval);
+    }
+
+    // Генераторы ресторанов отщепляются от random по порядку - результат не зависит от числа потоков
+    public RestaurantChain(int restaurants, RestaurantLayout layout, SimRandom random, int arrivalInterval) {
+        if (restaurants <= 0) {
+            throw new IllegalArgumentException("В сети должен быть хотя бы один ресторан: " + restaurants);
+        }
+        branches = new Branch[restaurants];
+        for (int i = 0; i < restaurants; i++) {
+            branches[i] = new Branch(layout, random.split(), arrivalInterval);
+        }
+    }
+
+    public void setWinScore(int winScore) {
+        for (Branch branch : branches) {
+            branch.model.setWinScore(winScore);
+        }
+    }
+
+    // Прогоняет смену во всех ресторанах; итоги копятся в getStats() между вызовами
+    public ChainStats run(ForkJoinPool pool, long maxTicks) {
+        int chunk = Math.max(1, branches.length / (pool.getParallelism() * CHUNKS_PER_THREAD));
+        pool.invoke(new Shift(0, branches.length, chunk, maxTicks));
+        return stats;
+    }
+
+    public int size() { return branches.length; }
+    public RestaurantModel getModel(int index) { return branches[index].model; }
+    public ChainStats getStats() { return stats; }
+
+    public static void main(String[] args) {
+        int restaurants = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        long maxTicks = args.length > 1 ? Long.parseLong(args[1]) : 6000;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        int arrivalInterval = args.length > 3 ? Integer.parseInt(args[3]) : 40;
+        GameMetrics.start();
+
+        ChainStats stats;
+        double seconds;
+        SimRandom random = SimRandom.fromSystemProperties();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            RestaurantChain chain = new RestaurantChain(restaurants, RestaurantLayout.fromSystemProperties(), random, arrivalInterval);
+            long start = System.nanoTime();
+            stats = chain.run(pool, maxTicks);
+            seconds = (System.nanoTime() - start) / 1e9;
+        } finally {
+            pool.shutdown();
+        }
+
+        System.out.println("Зерно: " + random.getSeed());
+        System.out.println(stats);
+        System.out.printf("Потоков: %d | Время: %.2f с | %.0f тиков/с%n", threads, seconds, stats.getTicks() / seconds);
+    }
+}
@@ -1,61 +1,82 @@
 import java.awt.event.*;
 import javax.swing.*;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public class RestaurantController {
+    private static final int INTERACTION_RADIUS = 60;
+
     private RestaurantModel model;
     private RestaurantView view;
-    private Timer gameTimer;
+    private SimulationEngine engine;
+    private CommandQueue commands;
+    private GameLoop gameLoop;
 
+    // После start() модель меняет только поток симуляции: все действия игрока - команды в CommandQueue
     public RestaurantController(RestaurantModel model) {
         this.model = model;
-        setupTimer();
+        this.engine = new SimulationEngine(model);
+        this.commands = engine.getCommands();
         setupEventListeners();
     }
 
+    // Темп тиков задаёт SimulationEngine, темп кадров - GameLoop
+    public void start() {
+        gameLoop = GameLoop.fromSystemProperties(engine, view);
+        gameLoop.start();
+    }
+
     public void setView(RestaurantView view) {
         this.view = view;
     }
 
-    private void setupTimer() {
-        gameTimer = new Timer(50, e -> {
-            model.updateCustomers();
-            view.repaint();
-        });
-        gameTimer.start();
+    private void stopGameLoop() {
+        if (gameLoop != null) {
+            gameLoop.stop();
+        }
+        model.closeEventLog();
+    }
+
+    // Запрос или действие в потоке симуляции, ответ - на EDT
+    public <R> void query(CommandQueue.Command<R> command, Consumer<R> callback) {
+        commands.submit(command).thenAcceptAsync(callback, SwingUtilities::invokeLater);
+    }
+
+    public void movePlayer(int dx, int dy) {
+        commands.execute(m -> m.movePlayer(dx, dy));
     }
 
     // ОСНОВНОЙ МЕТОД ЗАКАЗА
     public void placeOrderInKitchen(Dish dish) {
-        System.out.println("🎯 КОНТРОЛЛЕР: Начало заказа " + dish.getName());
+        Log.debug("🎯 КОНТРОЛЛЕР: Начало заказа {}", dish.getName());
+        commands.submit(m -> placeOrder(m, dish)).thenAccept(view::showMessage);
+    }
 
-        Player player = model.getPlayer();
-        if (isNearKitchen(player)) {
-            System.out.println("📍 Игрок рядом с кухней");
-            boolean success = model.placeOrderInKitchen(dish);
-
-            if (success) {
-                view.showMessage("🍳 Заказали: " + dish.getName() + " (-" + dish.getPrice() + "$, +5 очков)");
-                view.repaint();
-                System.out.println("✅ КОНТРОЛЛЕР: Заказ успешен");
-            } else {
-                if (model.getMoney() < dish.getPrice()) {
-                    view.showMessage("❌ Недостаточно денег! Нужно: " + dish.getPrice() + "$, у вас: " + model.getMoney() + "$");
-                } else {
-                    view.showMessage("❌ Очередь кухни переполнена! Максимум 10 заказов");
-                }
-                System.out.println("❌ КОНТРОЛЛЕР: Заказ не удался");
-            }
-        } else {
-            view.showMessage("Подойдите ближе к кухне!");
-            System.out.println("❌ Игрок далеко от кухни");
+    // В потоке симуляции; возвращает сообщение для игрока
+    private String placeOrder(RestaurantModel model, Dish dish) {
+        if (!isNearKitchen(model.getPlayer())) {
+            Log.debug("❌ Игрок далеко от кухни");
+            return "Подойдите ближе к кухне!";
+        }
+        Log.debug("📍 Игрок рядом с кухней");
+        if (model.placeOrderInKitchen(dish)) {
+            Log.debug("✅ КОНТРОЛЛЕР: Заказ успешен");
+            return "🍳 Заказали: " + dish.getName() + " (-" + dish.getPrice() + "$, +5 очков)";
         }
+        Log.debug("❌ КОНТРОЛЛЕР: Заказ не удался");
+        if (model.getMoney() < dish.getPrice()) {
+            return "❌ Недостаточно денег! Нужно: " + dish.getPrice() + "$, у вас: " + model.getMoney() + "$";
+        }
+        return "❌ Очередь кухни переполнена! Максимум " + model.getKitchen().getCapacity() + " заказов";
     }
 
     private void setupEventListeners() {
         ExtendedRestaurantEventListener extendedListener = new ExtendedRestaurantEventListener() {
             @Override
             public void customerAdded(CustomerEvent e) {
-                view.showMessage("Новый клиент! Он хочет: " + e.getCustomer().getDesiredDish().getName());
+                view.showMessage("Новый клиент! Он хочет: " + e.getDesiredDish().getName());
             }
 
             @Override
@@ -70,21 +91,21 @@ public class RestaurantController {
 
             @Override
             public void orderTaken(OrderEvent e) {
-                if (e.getOrder().getCustomer() != null) {
-                    view.showMessage("Заказ принят! Готовим: " + e.getOrder().getDish().getName());
+                if (e.hasCustomer()) {
+                    view.showMessage("Заказ принят! Готовим: " + e.getDish().getName());
                 } else {
-                    view.showMessage("✅ Блюдо готово: " + e.getOrder().getDish().getName());
+                    view.showMessage("✅ Блюдо готово: " + e.getDish().getName());
                 }
             }
 
             @Override
             public void orderServed(OrderEvent e) {
-                view.showMessage("✓ Отличная работа! +" + e.getOrder().getDish().getPrice() + "$ и +15 очков");
+                view.showMessage("✓ Отличная работа! +" + e.getPrice() + "$ и +15 очков");
             }
 
             @Override
             public void wrongOrderServed(WrongOrderEvent e) {
-                view.showMessage("✗ Ошибка! Клиент хотел " + e.getCustomer().getCurrentOrder().getDish().getName() + ", а вы принесли " + e.getWrongDish().getName() + ". Штраф -15$, -8 очков");
+                view.showMessage("✗ Ошибка! Клиент хотел " + e.getWantedDish().getName() + ", а вы принесли " + e.getWrongDish().getName() + ". Штраф -15$, -8 очков");
             }
 
             @Override
@@ -94,160 +115,186 @@ public class RestaurantController {
 
             @Override
             public void gameWon(RestaurantEvent e) {
-                gameTimer.stop();
-
-                // Сохраняем результат в БД
-                String playerName = JOptionPane.showInputDialog(view,
-                        "🎉 ПОБЕДА!\nВведите ваше имя для таблицы рекордов:",
-                        "🏆 ПОБЕДА!", JOptionPane.QUESTION_MESSAGE);
-
-                if (playerName == null || playerName.trim().isEmpty()) {
-                    playerName = "Снежок";
-                }
-
-                GameRepository.saveGameResult(playerName, model.getScore(), model.getMoney());
-
-                // Показываем топ-10 результатов
-                GameRepository.getAllGameResults();
-
-                JOptionPane.showMessageDialog(view,
-                        "🎉 ПОЗДРАВЛЯЕМ! ВЫ ВЫИГРАЛИ!\n" +
-                                "Финальный счёт: " + model.getScore() + " очков\n" +
-                                "Финальный капитал: $" + model.getMoney() + "\n\n" +
-                                "Результат сохранен в базе данных!",
-                        "🏆 ПОБЕДА!", JOptionPane.INFORMATION_MESSAGE);
-                System.exit(0);
+                stopGameLoop();
+                int score = model.getScore();
+                int money = model.getMoney();
+                SwingUtilities.invokeLater(() -> showVictory(score, money));
             }
 
             @Override
             public void gameOver(RestaurantEvent e) {
-                gameTimer.stop();
-
-                // Сохраняем результат в БД
-                GameRepository.saveGameResult("Снежок", model.getScore(), model.getMoney());
-
-                JOptionPane.showMessageDialog(view,
-                        "💀 ИГРА ОКОНЧЕНА! ВЫ ПРОИГРАЛИ!\n" +
-                                "Финальный счёт: " + model.getScore() + " очков\n\n" +
-                                "Результат сохранен в базе данных.",
-                        "💥 ПРОИГРЫШ", JOptionPane.ERROR_MESSAGE);
-                System.exit(0);
+                stopGameLoop();
+                int score = model.getScore();
+                int money = model.getMoney();
+                SwingUtilities.invokeLater(() -> showDefeat(score, money));
             }
         };
 
+        // События приходят в потоке симуляции: сообщения showMessage сам передаёт на EDT
         model.addRestaurantEventListener(extendedListener);
     }
 
-    // Остальные методы без изменений...
+    // Итог смены - на EDT, счёт снят в потоке симуляции в момент победы
+    private void showVictory(int score, int money) {
+        // Сохраняем результат в БД
+        String playerName = JOptionPane.showInputDialog(view,
+                "🎉 ПОБЕДА!\nВведите ваше имя для таблицы рекордов:",
+                "🏆 ПОБЕДА!", JOptionPane.QUESTION_MESSAGE);
+
+        if (playerName == null || playerName.trim().isEmpty()) {
+            playerName = "Снежок";
+        }
+
+        // Запись в БД - в фоне, итоговое окно - когда она закончится
+        CompletableFuture<Void> saved = GameRepository.saveGameResultAsync(playerName, score, money);
+        // Топ-10 в консоль - на I/O-потоке следом за записью, окно победы его не ждёт
+        saved.thenRunAsync(GameRepository::getAllGameResults, IoExecutor::run);
+        saved.whenCompleteAsync((ignored, error) -> {
+            JOptionPane.showMessageDialog(view,
+                    "🎉 ПОЗДРАВЛЯЕМ! ВЫ ВЫИГРАЛИ!\n" +
+                            "Финальный счёт: " + score + " очков\n" +
+                            "Финальный капитал: $" + money + "\n\n" +
+                            (error == null ? "Результат сохранен в базе данных!" : "Не удалось сохранить результат"),
+                    "🏆 ПОБЕДА!", JOptionPane.INFORMATION_MESSAGE);
+            System.exit(0);
+        }, SwingUtilities::invokeLater);
+    }
+
+    private void showDefeat(int score, int money) {
+        // Сохраняем результат в БД
+        GameRepository.saveGameResultAsync("Снежок", score, money)
+                .whenCompleteAsync((ignored, error) -> {
+                    JOptionPane.showMessageDialog(view,
+                            "💀 ИГРА ОКОНЧЕНА! ВЫ ПРОИГРАЛИ!\n" +
+                                    "Финальный счёт: " + score + " очков\n\n" +
+                                    (error == null ? "Результат сохранен в базе данных." : "Не удалось сохранить результат."),
+                            "💥 ПРОИГРЫШ", JOptionPane.ERROR_MESSAGE);
+                    System.exit(0);
+                }, SwingUtilities::invokeLater);
+    }
+
+    // Цель ищется в потоке симуляции, там же выполняются действия без вопросов;
+    // команда возвращает то, что нужно показать или спросить на EDT
     public void interactWithObject() {
+        query(this::interact, Runnable::run);
+    }
+
+    private Runnable interact(RestaurantModel model) {
         Player player = model.getPlayer();
 
         if (isNearTrashBin(player) && player.getCarriedDish() != null) {
-            int choice = JOptionPane.showConfirmDialog(view, "Выбросить блюдо " + player.getCarriedDish().getName() + "?\nШтраф: -8$, -5 очков", "🗑️ Выбросить блюдо", JOptionPane.YES_NO_OPTION);
-            if (choice == JOptionPane.YES_OPTION) {
-                model.throwAwayDishInTrashBin();
-            }
-            return;
+            String dishName = player.getCarriedDish().getName();
+            return () -> {
+                int choice = JOptionPane.showConfirmDialog(view, "Выбросить блюдо " + dishName + "?\nШтраф: -8$, -5 очков", "🗑️ Выбросить блюдо", JOptionPane.YES_NO_OPTION);
+                if (choice == JOptionPane.YES_OPTION) {
+                    commands.submit(RestaurantModel::throwAwayDishInTrashBin);
+                }
+            };
         }
 
-        for (Customer customer : model.getCustomers()) {
-            if (isNear(player, customer)) {
-                handleCustomerInteraction(customer);
-                return;
-            }
+        GameObject target = findInteractionTarget(player);
+        if (target instanceof Customer) {
+            return handleCustomerInteraction((Customer) target);
         }
 
-        for (Table table : model.getTables()) {
-            if (isNear(player, table) && !table.isClean()) {
-                model.cleanupTable(table);
-                view.showMessage("Стол убран! +5 очков");
-                return;
-            }
+        if (target instanceof Table) {
+            model.cleanupTable((Table) target);
+            return () -> view.showMessage("Стол убран! +5 очков");
         }
 
-        view.showMessage("Рядом нет объектов для взаимодействия");
+        return () -> view.showMessage("Рядом нет объектов для взаимодействия");
+    }
+
+    // Ближайший объект для взаимодействия: сначала клиенты, потом грязные столы
+    GameObject findInteractionTarget(Player player) {
+        SpatialGrid index = model.getSpatialIndex();
+        Customer customer = index.nearest(Customer.class, player, INTERACTION_RADIUS, null);
+        if (customer != null) {
+            return customer;
+        }
+        return index.nearest(Table.class, player, INTERACTION_RADIUS, table -> !table.isClean());
     }
 
-    private void handleCustomerInteraction(Customer customer) {
+    private Runnable handleCustomerInteraction(Customer customer) {
         Player player = model.getPlayer();
 
         if (player.getCarriedDish() != null) {
             boolean success = model.serveCustomer(customer);
-            if (!success) {
-                view.showMessage("Не удалось отдать заказ клиенту");
-            }
-            return;
+            return success ? () -> { } : () -> view.showMessage("Не удалось отдать заказ клиенту");
         }
 
         if (customer.isServed()) {
-            view.showMessage("Этот клиент уже обслужен и скоро уйдёт");
+            return () -> view.showMessage("Этот клиент уже обслужен и скоро уйдёт");
         } else if (customer.getCurrentOrder() != null) {
-            view.showOrderInfo(customer);
+            String message = RestaurantView.describeOrder(model, customer);
+            return () -> view.showOrderInfo(message);
         } else if (customer.getDesiredDish() != null) {
-            int choice = JOptionPane.showConfirmDialog(view, "Клиент хочет заказать: " + customer.getDesiredDish().getName() + "\nПринять заказ?", "💬 Принять заказ", JOptionPane.YES_NO_OPTION);
-            if (choice == JOptionPane.YES_OPTION) {
-                model.takeOrderFromCustomer(customer);
-                view.showMessage("Заказ принят! Готовим: " + customer.getDesiredDish().getName());
-            }
+            String dishName = customer.getDesiredDish().getName();
+            return () -> {
+                int choice = JOptionPane.showConfirmDialog(view, "Клиент хочет заказать: " + dishName + "\nПринять заказ?", "💬 Принять заказ", JOptionPane.YES_NO_OPTION);
+                if (choice == JOptionPane.YES_OPTION) {
+                    // Пока открыт диалог, клиент мог уйти - модель сама проверит, ждёт ли он заказа
+                    commands.submit(m -> m.takeOrderFromCustomer(customer)).thenAccept(taken -> {
+                        if (taken) {
+                            view.showMessage("Заказ принят! Готовим: " + dishName);
+                        }
+                    });
+                }
+            };
         }
+        return () -> { };
     }
 
     private boolean isNearTrashBin(Player player) {
-        int distance = (int) Math.sqrt(Math.pow(player.getX() - model.getTrashBinX(), 2) + Math.pow(player.getY() - model.getTrashBinY(), 2));
-        return distance < 60;
+        return model.getSpatialIndex().nearest(TrashBin.class, player, INTERACTION_RADIUS, null) != null;
     }
 
     public void takeFromKitchen() {
+        commands.submit(this::takeFromKitchen).thenAccept(view::showMessage);
+    }
+
+    private String takeFromKitchen(RestaurantModel model) {
         Player player = model.getPlayer();
-        if (isNearKitchen(player)) {
-            if (model.getKitchenOrders().isEmpty()) {
-                view.showMessage("На кухне нет готовых заказов! Заказов в очереди: " + model.getKitchenQueue().size());
-            } else if (player.getCarriedDish() != null) {
-                view.showMessage("У вас уже есть блюдо! Выбросьте его чтобы взять новое");
-            } else {
-                model.takeOrderFromKitchen();
-                Dish dish = player.getCarriedDish();
-                if (dish != null) {
-                    view.showMessage("Взяли с кухни: " + dish.getName());
-                }
-            }
-        } else {
-            view.showMessage("Подойдите ближе к кухне!");
+        if (!isNearKitchen(player)) {
+            return "Подойдите ближе к кухне!";
         }
+        if (model.getReadyShelf().isEmpty()) {
+            return "На кухне нет готовых заказов! Заказов в очереди: " + model.getKitchen().size();
+        }
+        if (player.getCarriedDish() != null) {
+            return "У вас уже есть блюдо! Выбросьте его чтобы взять новое";
+        }
+        model.takeOrderFromKitchen();
+        return "Взяли с кухни: " + player.getCarriedDish().getName();
     }
 
     public void takeSpecificDishFromKitchen(Dish dish) {
-        Player player = model.getPlayer();
-        if (isNearKitchen(player)) {
+        commands.submit(m -> {
+            Player player = m.getPlayer();
+            if (!isNearKitchen(player)) {
+                return "Подойдите ближе к кухне!";
+            }
             if (player.getCarriedDish() != null) {
-                view.showMessage("У вас уже есть блюдо! Выбросьте его чтобы взять новое");
-            } else {
-                boolean success = model.takeSpecificDishFromKitchen(dish);
-                if (success) {
-                    view.showMessage("Взяли с кухни: " + dish.getName());
-                } else {
-                    view.showMessage("Блюдо " + dish.getName() + " ещё не готово!");
-                }
+                return "У вас уже есть блюдо! Выбросьте его чтобы взять новое";
             }
-        } else {
-            view.showMessage("Подойдите ближе к кухне!");
-        }
+            if (m.takeSpecificDishFromKitchen(dish)) {
+                return "Взяли с кухни: " + dish.getName();
+            }
+            return "Блюдо " + dish.getName() + " ещё не готово!";
+        }).thenAccept(view::showMessage);
     }
 
     public void throwAwayDish() {
-        if (model.getPlayer().getCarriedDish() != null) {
-            int choice = JOptionPane.showConfirmDialog(view, "Выбросить блюдо " + model.getPlayer().getCarriedDish().getName() + "? (штраф -3 очка)", "Выбросить блюдо", JOptionPane.YES_NO_OPTION);
+        query(m -> m.getPlayer().getCarriedDish(), dish -> {
+            if (dish == null) {
+                view.showMessage("У вас нет блюда чтобы выбросить!");
+                return;
+            }
+            int choice = JOptionPane.showConfirmDialog(view, "Выбросить блюдо " + dish.getName() + "? (штраф -3 очка)", "Выбросить блюдо", JOptionPane.YES_NO_OPTION);
             if (choice == JOptionPane.YES_OPTION) {
-                model.throwAwayDish();
+                commands.execute(RestaurantModel::throwAwayDish);
             }
-        } else {
-            view.showMessage("У вас нет блюда чтобы выбросить!");
-        }
-    }
-
-    private boolean isNear(GameObject obj1, GameObject obj2) {
-        int distance = (int) Math.sqrt(Math.pow(obj1.getX() - obj2.getX(), 2) + Math.pow(obj1.getY() - obj2.getY(), 2));
-        return distance < 60;
+        });
     }
 
     private boolean isNearKitchen(Player player) {
@@ -255,18 +302,34 @@ public class RestaurantController {
     }
 
     public void addCustomer() {
-        model.addCustomer();
+        commands.execute(RestaurantModel::addCustomer);
         if (view != null) {
             view.requestGameFocus();
         }
     }
 
+    // Снимок берётся в потоке симуляции между тиками, на диск пишется в фоне.
+    // Продолжить смену: -Drestaurant.resume=путь
+    public void saveShift() {
+        Path path = Paths.get(System.getProperty("restaurant.snapshot", "restaurant-shift.snap"));
+        commands.submit(ModelSnapshot::capture)
+                .thenCompose(data -> ModelSnapshot.write(data, path))
+                .whenComplete((saved, error) -> SwingUtilities.invokeLater(() -> {
+                    if (error != null) {
+                        Log.error("❌ Ошибка сохранения смены", error);
+                        view.showMessage("❌ Не удалось сохранить смену");
+                    } else {
+                        view.showMessage("💾 Смена сохранена: " + saved);
+                    }
+                }));
+    }
+
     public void showStats() {
-        JOptionPane.showMessageDialog(view,
-                "💰 Деньги: $" + model.getMoney() + "\n" +
-                        "⭐ Счёт: " + model.getScore() + "/100\n" +
-                        "👥 Клиентов: " + model.getCustomers().size() + "\n" +
-                        "⏳ Заказов в очереди: " + model.getKitchenQueue().size() + "\n" +
-                        "🍽️ Готовых заказов: " + model.getKitchenOrders().size());
+        query(m -> "💰 Деньги: $" + m.getMoney() + "\n" +
+                        "⭐ Счёт: " + m.getScore() + "/100\n" +
+                        "👥 Клиентов: " + m.getCustomers().size() + "\n" +
+                        "⏳ Заказов в очереди: " + m.getKitchen().size() + "\n" +
+                        "🍽️ Готовых заказов: " + m.getReadyShelf().size(),
+                stats -> JOptionPane.showMessageDialog(view, stats));
     }
 }
\ No newline at end of file
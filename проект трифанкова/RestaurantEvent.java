@@ -1,5 +1,12 @@
 import java.util.EventObject;
 
 public class RestaurantEvent extends EventObject {
-    public RestaurantEvent(Object source) { super(source); }
+    private final RestaurantEventType<?> type;
+
+    public RestaurantEvent(Object source, RestaurantEventType<?> type) {
+        super(source);
+        this.type = type;
+    }
+
+    public RestaurantEventType<?> getType() { return type; }
 }
\ No newline at end of file
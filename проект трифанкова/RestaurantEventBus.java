@@ -0,0 +1,197 @@
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Шина событий модели: типизированные подписки, один неизменяемый экземпляр события
+// на всех подписчиков. Таблица подписок копируется при записи, поэтому подписка
+// и отписка безопасны прямо во время рассылки, а сама рассылка идёт без блокировок
+public class RestaurantEventBus {
+    private static final Subscription<?>[] NO_SUBSCRIPTIONS = new Subscription<?>[0];
+
+    private volatile Subscription<?>[][] subscriptions = new Subscription<?>[RestaurantEventType.COUNT][];
+    private final Object lock = new Object();
+
+    public RestaurantEventBus() {
+        Arrays.fill(subscriptions, NO_SUBSCRIPTIONS);
+    }
+
+    public <E extends RestaurantEvent> Subscription<E> subscribe(RestaurantEventType<E> type, Consumer<? super E> handler) {
+        return subscribe(type, handler, EventDelivery.SYNC);
+    }
+
+    public <E extends RestaurantEvent> Subscription<E> subscribe(RestaurantEventType<E> type, Consumer<? super E> handler,
+                                                                 EventDelivery delivery) {
+        return register(new Subscription<E>(this, new RestaurantEventType<?>[]{type}, handler, delivery));
+    }
+
+    // Классический слушатель: одна подписка на все его события, порядок событий сохраняется
+    public Subscription<RestaurantEvent> subscribe(RestaurantEventListener listener, EventDelivery delivery) {
+        RestaurantEventType<?>[] types = listener instanceof ExtendedRestaurantEventListener
+                ? RestaurantEventType.ALL
+                : RestaurantEventType.BASIC;
+        return register(new Subscription<RestaurantEvent>(this, types, event -> dispatch(listener, event), delivery));
+    }
+
+    private <E extends RestaurantEvent> Subscription<E> register(Subscription<E> subscription) {
+        synchronized (lock) {
+            Subscription<?>[][] table = subscriptions.clone();
+            for (RestaurantEventType<?> type : subscription.types) {
+                Subscription<?>[] current = table[type.index];
+                Subscription<?>[] updated = Arrays.copyOf(current, current.length + 1);
+                updated[current.length] = subscription;
+                table[type.index] = updated;
+            }
+            subscriptions = table;
+        }
+        return subscription;
+    }
+
+    void unsubscribe(Subscription<?> subscription) {
+        synchronized (lock) {
+            Subscription<?>[][] table = subscriptions.clone();
+            for (RestaurantEventType<?> type : subscription.types) {
+                Subscription<?>[] current = table[type.index];
+                for (int i = 0; i < current.length; i++) {
+                    if (current[i] == subscription) {
+                        Subscription<?>[] updated = new Subscription<?>[current.length - 1];
+                        System.arraycopy(current, 0, updated, 0, i);
+                        System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                        table[type.index] = updated;
+                        break;
+                    }
+                }
+            }
+            subscriptions = table;
+        }
+    }
+
+    // Позволяет не создавать объект события, если его никто не слушает
+    public boolean hasSubscribers(RestaurantEventType<?> type) {
+        return subscriptions[type.index].length > 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void post(RestaurantEvent event) {
+        Subscription<?>[] current = subscriptions[event.getType().index];
+        GameEvents.ListenerDispatch jfrEvent = new GameEvents.ListenerDispatch();
+        jfrEvent.begin();
+        long start = GameMetrics.ENABLED ? System.nanoTime() : 0;
+        for (Subscription<?> subscription : current) {
+            ((Subscription<RestaurantEvent>) subscription).deliver(event);
+        }
+        if (GameMetrics.ENABLED) {
+            GameMetrics.DISPATCH_NANOS.record(System.nanoTime() - start);
+        }
+        if (jfrEvent.shouldCommit()) {
+            jfrEvent.eventType = event.getType().getName();
+            jfrEvent.subscribers = current.length;
+            jfrEvent.commit();
+        }
+    }
+
+    private static void dispatch(RestaurantEventListener listener, RestaurantEvent event) {
+        RestaurantEventType<?> type = event.getType();
+        if (type == RestaurantEventType.CUSTOMER_ADDED) {
+            listener.customerAdded((CustomerEvent) event);
+        } else if (type == RestaurantEventType.CUSTOMER_LEFT) {
+            listener.customerLeft((CustomerEvent) event);
+        } else if (type == RestaurantEventType.ORDER_TAKEN) {
+            listener.orderTaken((OrderEvent) event);
+        } else if (type == RestaurantEventType.ORDER_SERVED) {
+            listener.orderServed((OrderEvent) event);
+        } else if (type == RestaurantEventType.WRONG_ORDER_SERVED) {
+            listener.wrongOrderServed((WrongOrderEvent) event);
+        } else if (type == RestaurantEventType.DISH_THROWN_AWAY) {
+            listener.dishThrownAway(event);
+        } else if (listener instanceof ExtendedRestaurantEventListener) {
+            ExtendedRestaurantEventListener extended = (ExtendedRestaurantEventListener) listener;
+            if (type == RestaurantEventType.CUSTOMER_LEFT_HAPPY) {
+                extended.customerLeftHappy((CustomerEvent) event);
+            } else if (type == RestaurantEventType.GAME_WON) {
+                extended.gameWon(event);
+            } else if (type == RestaurantEventType.GAME_OVER) {
+                extended.gameOver(event);
+            }
+        }
+    }
+
+    public static final class Subscription<E extends RestaurantEvent> {
+        private final RestaurantEventBus bus;
+        private final RestaurantEventType<?>[] types;
+        private final Consumer<? super E> handler;
+        private final EventDelivery delivery;
+        private final BlockingQueue<E> queue;
+        private final AtomicBoolean drainScheduled = new AtomicBoolean();
+        private final AtomicLong delivered = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        private final Runnable drainTask = this::drain;
+        private volatile boolean active = true;
+
+        private Subscription(RestaurantEventBus bus, RestaurantEventType<?>[] types, Consumer<? super E> handler,
+                             EventDelivery delivery) {
+            this.bus = bus;
+            this.types = types;
+            this.handler = handler;
+            this.delivery = delivery;
+            this.queue = delivery.isAsync() ? new ArrayBlockingQueue<>(delivery.getQueueCapacity()) : null;
+        }
+
+        private void deliver(E event) {
+            if (!active) {
+                return;
+            }
+            if (queue == null) {
+                handle(event);
+                return;
+            }
+            if (!queue.offer(event)) {
+                dropped.incrementAndGet(); // медленный подписчик не тормозит симуляцию
+                return;
+            }
+            if (drainScheduled.compareAndSet(false, true)) {
+                delivery.getExecutor().execute(drainTask);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                E event;
+                while ((event = queue.poll()) != null) {
+                    if (active) {
+                        handle(event);
+                    }
+                }
+                drainScheduled.set(false);
+                // Событие могло прийти между последним poll и сбросом флага
+                if (queue.isEmpty() || !drainScheduled.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        }
+
+        private void handle(E event) {
+            try {
+                handler.accept(event);
+                delivered.incrementAndGet();
+            } catch (RuntimeException e) {
+                Log.error("❌ Ошибка в обработчике события {}:", event.getType(), e);
+            }
+        }
+
+        public void cancel() {
+            active = false;
+            bus.unsubscribe(this);
+            if (queue != null) {
+                queue.clear();
+            }
+        }
+
+        public boolean isAsync() { return queue != null; }
+        public long getDeliveredCount() { return delivered.get(); }
+        public long getDroppedCount() { return dropped.get(); }
+        public int getQueuedCount() { return queue == null ? 0 : queue.size(); }
+    }
+}
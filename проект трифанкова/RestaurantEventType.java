@@ -0,0 +1,35 @@
+// Типы событий ресторана. Параметр - класс события, который получит подписчик
+public final class RestaurantEventType<E extends RestaurantEvent> {
+    public static final RestaurantEventType<CustomerEvent> CUSTOMER_ADDED = new RestaurantEventType<>("customerAdded", 0);
+    public static final RestaurantEventType<CustomerEvent> CUSTOMER_LEFT = new RestaurantEventType<>("customerLeft", 1);
+    public static final RestaurantEventType<CustomerEvent> CUSTOMER_LEFT_HAPPY = new RestaurantEventType<>("customerLeftHappy", 2);
+    public static final RestaurantEventType<OrderEvent> ORDER_TAKEN = new RestaurantEventType<>("orderTaken", 3);
+    public static final RestaurantEventType<OrderEvent> ORDER_SERVED = new RestaurantEventType<>("orderServed", 4);
+    public static final RestaurantEventType<WrongOrderEvent> WRONG_ORDER_SERVED = new RestaurantEventType<>("wrongOrderServed", 5);
+    public static final RestaurantEventType<RestaurantEvent> DISH_THROWN_AWAY = new RestaurantEventType<>("dishThrownAway", 6);
+    public static final RestaurantEventType<RestaurantEvent> GAME_WON = new RestaurantEventType<>("gameWon", 7);
+    public static final RestaurantEventType<RestaurantEvent> GAME_OVER = new RestaurantEventType<>("gameOver", 8);
+
+    static final int COUNT = 9;
+
+    static final RestaurantEventType<?>[] BASIC = {
+            CUSTOMER_ADDED, CUSTOMER_LEFT, ORDER_TAKEN, ORDER_SERVED, WRONG_ORDER_SERVED, DISH_THROWN_AWAY
+    };
+    static final RestaurantEventType<?>[] ALL = {
+            CUSTOMER_ADDED, CUSTOMER_LEFT, CUSTOMER_LEFT_HAPPY, ORDER_TAKEN, ORDER_SERVED,
+            WRONG_ORDER_SERVED, DISH_THROWN_AWAY, GAME_WON, GAME_OVER
+    };
+
+    private final String name;
+    final int index;
+
+    private RestaurantEventType(String name, int index) {
+        this.name = name;
+        this.index = index;
+    }
+
+    public String getName() { return name; }
+
+    @Override
+    public String toString() { return name; }
+}
@@ -0,0 +1,87 @@
+import java.nio.ByteBuffer;
+
+// Планировка зала: сетка столов и места для клиентов за ними.
+// По умолчанию - прежний зал 1000x700 с шестью столами по одному месту.
+public class RestaurantLayout {
+    public static final RestaurantLayout DEFAULT = new RestaurantLayout(3, 2, 200, 180, 1);
+
+    private static final int ORIGIN_X = 200; // центр первого стола
+    private static final int ORIGIN_Y = 150;
+    private static final int MIN_WIDTH = 1000;
+    private static final int MIN_HEIGHT = 700;
+
+    private final int columns;
+    private final int rows;
+    private final int spacingX;
+    private final int spacingY;
+    private final int seatsPerTable;
+    private final int width;
+    private final int height;
+
+    public RestaurantLayout(int columns, int rows, int spacingX, int spacingY, int seatsPerTable) {
+        if (columns <= 0 || rows <= 0 || spacingX <= 0 || spacingY <= 0 || seatsPerTable <= 0 || seatsPerTable > 4) {
+            throw new IllegalArgumentException("Некорректная планировка: " + columns + "x" + rows
+                    + ", шаг " + spacingX + "x" + spacingY + ", мест за столом " + seatsPerTable);
+        }
+        this.columns = columns;
+        this.rows = rows;
+        this.spacingX = spacingX;
+        this.spacingY = spacingY;
+        this.seatsPerTable = seatsPerTable;
+        // Справа и снизу остаётся место под стены и мусорку, как в исходном зале
+        this.width = Math.max(MIN_WIDTH, ORIGIN_X + (columns - 1) * spacingX + 400);
+        this.height = Math.max(MIN_HEIGHT, ORIGIN_Y + (rows - 1) * spacingY + 370);
+    }
+
+    // -Drestaurant.layout.columns / rows / spacingX / spacingY / seats
+    public static RestaurantLayout fromSystemProperties() {
+        if (System.getProperty("restaurant.layout.columns") == null && System.getProperty("restaurant.layout.rows") == null) {
+            return DEFAULT;
+        }
+        return new RestaurantLayout(
+                Integer.getInteger("restaurant.layout.columns", DEFAULT.columns),
+                Integer.getInteger("restaurant.layout.rows", DEFAULT.rows),
+                Integer.getInteger("restaurant.layout.spacingX", DEFAULT.spacingX),
+                Integer.getInteger("restaurant.layout.spacingY", DEFAULT.spacingY),
+                Integer.getInteger("restaurant.layout.seats", DEFAULT.seatsPerTable));
+    }
+
+    // Для журнала и снимков смены
+    void writeTo(ByteBuffer out) {
+        Varint.put(out, columns);
+        Varint.put(out, rows);
+        Varint.put(out, spacingX);
+        Varint.put(out, spacingY);
+        Varint.put(out, seatsPerTable);
+    }
+
+    static RestaurantLayout readFrom(ByteBuffer in) {
+        return new RestaurantLayout(Varint.getInt(in), Varint.getInt(in), Varint.getInt(in),
+                Varint.getInt(in), Varint.getInt(in));
+    }
+
+    public int getTableCount() { return columns * rows; }
+    public int getSeatCount() { return getTableCount() * seatsPerTable; }
+    public int getSeatsPerTable() { return seatsPerTable; }
+    public int getColumns() { return columns; }
+    public int getRows() { return rows; }
+    public int getSpacingX() { return spacingX; }
+    public int getSpacingY() { return spacingY; }
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+
+    public int getTableX(int table) { return ORIGIN_X + (table % columns) * spacingX; }
+    public int getTableY(int table) { return ORIGIN_Y + (table / columns) * spacingY; }
+
+    // Место seat сидит за столом seat / seatsPerTable; одно место - прямо на столе, как раньше,
+    // несколько - по углам стола
+    public int getSeatX(int seat) {
+        int x = getTableX(seat / seatsPerTable);
+        return seatsPerTable == 1 ? x : x + (seat % 2 == 0 ? -20 : 20);
+    }
+
+    public int getSeatY(int seat) {
+        int y = getTableY(seat / seatsPerTable);
+        return seatsPerTable == 1 ? y : y + ((seat % seatsPerTable) / 2 == 0 ? -15 : 15);
+    }
+}
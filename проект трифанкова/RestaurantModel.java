@@ -1,131 +1,196 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.awt.Color;
-import javax.swing.Timer;
 
 public class RestaurantModel {
-    private List<Customer> customers;
+    private final RestaurantLayout layout;
+    private final SimRandom random; // вся случайность модели - только отсюда
+    private CustomerStore customers; // клиенты в массивах, слот = место в зале
+    private DeadlineHeap patienceDeadlines; // кто и когда уйдёт, потеряв терпение
     private List<Table> tables;
     private Player player;
     private int score;
     private int money;
+    private int customersLost; // ушли, не дождавшись; для метрик, в снимок не входит
     private boolean gameRunning;
 
-    private List<Dish> menu;
-    private List<Dish> kitchenOrders; // Готовые блюда
-    private List<Dish> kitchenQueue; // Блюда в процессе приготовления
-    private Map<Dish, Integer> cookingProgress;
-    private Map<Customer, Timer> customerLeaveTimers;
+    private DishCatalog menu;
+    private ReadyShelf readyShelf; // Готовые блюда
+    private KitchenScheduler kitchen; // Очередь и плиты кухни, по тикету на заказ
+    private KitchenScheduler.CompletionListener dishCookedListener = this::dishCooked;
+    private TimingWheel.Timeout[] customerLeaveTimers; // по номеру места
+    private TimingWheel scheduler; // отложенные игровые действия в тиках симуляции
+    private long currentTick;
+    private boolean persistOrders = true;
+    private int winScore = 100;
+    private EventLog eventLog; // журнал сессии, null - не пишется
 
-    private int trashBinX = 900;
-    private int trashBinY = 100;
+    private TrashBin trashBin;
+    private SpatialGrid spatialIndex; // все объекты зала для поиска "что рядом"
 
     public RestaurantModel() {
-        customers = new ArrayList<>();
+        this(RestaurantLayout.fromSystemProperties());
+    }
+
+    public RestaurantModel(RestaurantLayout layout) {
+        this(layout, SimRandom.fromSystemProperties());
+    }
+
+    public RestaurantModel(RestaurantLayout layout, SimRandom random) {
+        this(layout, random, KitchenScheduler.fromSystemProperties());
+    }
+
+    public RestaurantModel(RestaurantLayout layout, SimRandom random, KitchenScheduler kitchen) {
+        this.layout = layout;
+        this.random = random;
         tables = new ArrayList<>();
-        menu = new ArrayList<>();
-        kitchenOrders = new ArrayList<>();
-        kitchenQueue = new ArrayList<>();
-        cookingProgress = new HashMap<>();
-        customerLeaveTimers = new HashMap<>();
+        menu = new DishCatalog();
+        initializeMenu();
+        customers = new CustomerStore(layout, menu);
+        patienceDeadlines = new DeadlineHeap(layout.getSeatCount());
+        readyShelf = new ReadyShelf(menu);
+        this.kitchen = kitchen;
+        customerLeaveTimers = new TimingWheel.Timeout[layout.getSeatCount()];
+        scheduler = new TimingWheel(256);
+        spatialIndex = new SpatialGrid(layout.getWidth(), layout.getHeight(), 64);
+        trashBin = new TrashBin(layout.getWidth() - 100, 100);
         player = new Player(400, 300);
+        player.setMoveBounds(layout.getWidth() - 20, layout.getHeight() - 20);
+        spatialIndex.add(player);
+        spatialIndex.add(trashBin);
         score = 0;
         money = 100;
         gameRunning = true;
 
         initializeTables();
-        initializeMenu();
     }
 
     private void initializeTables() {
-        for (int i = 0; i < 6; i++) {
-            int x = 200 + (i % 3) * 200;
-            int y = 150 + (i / 3) * 180;
-            tables.add(new Table(x, y, i));
+        for (int i = 0; i < layout.getTableCount(); i++) {
+            Table table = new Table(layout.getTableX(i), layout.getTableY(i), i);
+            tables.add(table);
+            spatialIndex.add(table);
         }
     }
 
     private void initializeMenu() {
-        menu.add(new Dish("Пицца", 50, new Color(220, 20, 60)));
-        menu.add(new Dish("Бургер", 40, new Color(210, 105, 30)));
-        menu.add(new Dish("Салат", 30, new Color(50, 205, 50)));
-        menu.add(new Dish("Суши", 60, new Color(255, 182, 193)));
-        menu.add(new Dish("Паста", 45, new Color(255, 215, 0)));
-        menu.add(new Dish("Суп", 35, new Color(139, 69, 19)));
+        // Время готовки в тиках
+        menu.add("Пицца", 50, new Color(220, 20, 60), 12);
+        menu.add("Бургер", 40, new Color(210, 105, 30), 8);
+        menu.add("Салат", 30, new Color(50, 205, 50), 5);
+        menu.add("Суши", 60, new Color(255, 182, 193), 14);
+        menu.add("Паста", 45, new Color(255, 215, 0), 10);
+        menu.add("Суп", 35, new Color(139, 69, 19), 9);
     }
 
     public void addCustomer() {
-        if (customers.size() < 6) {
-            Customer customer = new Customer(customers.size());
-            Dish desiredDish = menu.get((int)(Math.random() * menu.size()));
-            customer.setDesiredDish(desiredDish);
-            customers.add(customer);
+        if (eventLog != null) eventLog.input(EventLog.ADD_CUSTOMER, currentTick);
+        if (!customers.isFull()) {
+            int desiredDish = random.nextInt(menu.size());
+            int color = random.nextInt(CustomerStore.CLOTHING_COLORS.length);
+            Customer customer = customers.add(currentTick, desiredDish, color);
+            spatialIndex.add(customer);
+            patienceDeadlines.add(customer.getId(), customer.getPatienceDeadline());
             fireCustomerAdded(customer);
         }
     }
 
+    private void releaseCustomer(Customer customer) {
+        spatialIndex.remove(customer);
+        patienceDeadlines.remove(customer.getId());
+        customers.release(customer.getId());
+    }
+
+    // Один тик симуляции
     public void updateCustomers() {
-        Iterator<Customer> iterator = customers.iterator();
-        while (iterator.hasNext()) {
-            Customer customer = iterator.next();
-            customer.updatePatience();
-
-            if (customer.getPatience() <= 0) {
-                money -= 25;
-                score -= 10;
-                iterator.remove();
-                if (customerLeaveTimers.containsKey(customer)) {
-                    customerLeaveTimers.get(customer).stop();
-                    customerLeaveTimers.remove(customer);
-                }
-                fireCustomerLeft(customer);
+        GameEvents.SimulationTick event = new GameEvents.SimulationTick();
+        event.begin();
+        currentTick++;
+        updatePatience();
+        updateCookingProgress();
+        scheduler.advance();
+        if (event.shouldCommit()) {
+            event.tick = currentTick;
+            event.customers = customers.size();
+            event.kitchenQueue = kitchen.size();
+            event.readyShelf = readyShelf.size();
+            event.commit();
+        }
+    }
+
+    // Трогаем только тех клиентов, чей дедлайн уже наступил
+    private void updatePatience() {
+        while (!patienceDeadlines.isEmpty() && patienceDeadlines.peekDeadline() <= currentTick) {
+            Customer customer = customers.getCustomer(patienceDeadlines.poll());
+            money -= 25;
+            score -= 10;
+            customersLost++;
+            GameEvents.CustomerExpired expired = new GameEvents.CustomerExpired();
+            if (expired.shouldCommit()) {
+                expired.customerId = customer.getId();
+                expired.tick = currentTick;
+                expired.commit();
             }
+            fireCustomerLeft(customer); // пока место ещё за клиентом
+            releaseCustomer(customer);
+            cancelLeaveTimer(customer);
         }
-        updateCookingProgress();
     }
 
     private void updateCookingProgress() {
-        // Создаем копию для безопасного удаления
-        List<Dish> queueCopy = new ArrayList<>(kitchenQueue);
-
-        for (Dish dish : queueCopy) {
-            int progress = cookingProgress.getOrDefault(dish, 0) + 10;
-            cookingProgress.put(dish, progress);
-
-            System.out.println("🔄 Готовим: " + dish.getName() + " - " + progress + "%");
-
-            if (progress >= 100) {
-                // Блюдо готово!
-                kitchenOrders.add(dish);
-                kitchenQueue.remove(dish);
-                cookingProgress.remove(dish);
-                fireOrderReady(dish);
-                System.out.println("✅ Блюдо готово: " + dish.getName());
+        kitchen.tick(currentTick, dishCookedListener);
+
+        if (Log.DEBUG) {
+            for (int i = 0; i < kitchen.size(); i++) {
+                if (kitchen.isCookingAt(i)) {
+                    Log.debug("🔄 Готовим: {} - {}%", kitchen.dishAt(i).getName(), kitchen.progressAt(i));
+                }
             }
         }
     }
 
+    private void dishCooked(long ticketId, Dish dish) {
+        // Блюдо готово!
+        GameEvents.KitchenTicketCompleted event = new GameEvents.KitchenTicketCompleted();
+        if (event.shouldCommit()) {
+            event.ticketId = ticketId;
+            event.dish = dish.getName();
+            event.tick = currentTick;
+            event.commit();
+        }
+        readyShelf.add(dish);
+        fireOrderReady(dish);
+        Log.debug("✅ Блюдо готово: {}", dish.getName());
+    }
+
     // Новый метод для сохранения заказа в БД
     private void saveOrderToDatabase(String dishName, int price, Integer customerId, String status) {
+        if (!persistOrders) {
+            return;
+        }
         GameRepository.saveOrder(dishName, price, customerId, status);
     }
 
     // ПРОСТОЙ И НАДЕЖНЫЙ МЕТОД ДЛЯ ЗАКАЗА БЛЮДА
     public boolean placeOrderInKitchen(Dish dish) {
-        System.out.println("🎯 НАЧАЛО: Пытаемся заказать " + dish.getName());
+        if (eventLog != null) eventLog.input(EventLog.PLACE_ORDER, currentTick, dish.getId());
+        Log.debug("🎯 НАЧАЛО: Пытаемся заказать {}", dish.getName());
 
         // Проверяем деньги
         if (money < dish.getPrice()) {
-            System.out.println("❌ Недостаточно денег для заказа " + dish.getName());
+            Log.debug("❌ Недостаточно денег для заказа {}", dish.getName());
             return false;
         }
 
         // Проверяем очередь
-        if (kitchenQueue.size() >= 10) {
-            System.out.println("❌ Очередь кухни переполнена");
+        if (kitchen.isFull()) {
+            Log.debug("❌ Очередь кухни переполнена");
             return false;
         }
 
@@ -134,18 +199,20 @@ public class RestaurantModel {
         score += 5;
 
         // Добавляем в очередь
-        kitchenQueue.add(dish);
-        cookingProgress.put(dish, 0);
+        // Заказ официанта никого не ждёт - при приоритете по дедлайну идёт последним
+        kitchen.add(dish, currentTick, Long.MAX_VALUE);
 
         // Сохраняем заказ в БД (заказ официанта)
         saveOrderToDatabase(dish.getName(), dish.getPrice(), null, "заказано_официантом");
 
-        System.out.println("✅ УСПЕХ: Заказали " + dish.getName() + " за " + dish.getPrice() + "$");
-        System.out.println("📊 Очередь кухни: " + kitchenQueue.size() + " блюд");
+        Log.debug("✅ УСПЕХ: Заказали {} за {}$", dish.getName(), dish.getPrice());
+        Log.debug("📊 Очередь кухни: {} блюд", kitchen.size());
 
         // Выводим всю очередь для отладки
-        for (int i = 0; i < kitchenQueue.size(); i++) {
-            System.out.println("   " + (i+1) + ". " + kitchenQueue.get(i).getName());
+        if (Log.DEBUG) {
+            for (int i = 0; i < kitchen.size(); i++) {
+                Log.debug("   {}. {}", i + 1, kitchen.dishAt(i).getName());
+            }
         }
 
         fireOrderPlacedByWaiter(dish);
@@ -154,29 +221,31 @@ public class RestaurantModel {
 
     // МЕТОД ДЛЯ ПРИНЯТИЯ ЗАКАЗА ОТ КЛИЕНТА (бесплатно)
     public boolean takeOrderFromCustomer(Customer customer) {
+        // Клиент ушёл, пока был открыт диалог: место могло достаться другому, в журнал не пишем
+        if (!customer.isPresent()) {
+            return false;
+        }
+        if (eventLog != null) eventLog.input(EventLog.TAKE_ORDER, currentTick, customer.getId());
         if (customer.getDesiredDish() != null && customer.getCurrentOrder() == null) {
             Dish desiredDish = customer.getDesiredDish();
 
             // Проверяем очередь
-            if (kitchenQueue.size() >= 10) {
-                System.out.println("❌ Очередь кухни переполнена для заказа клиента");
+            if (kitchen.isFull()) {
+                Log.debug("❌ Очередь кухни переполнена для заказа клиента");
                 return false;
             }
 
-            // Создаем заказ
+            // Создаем заказ и добавляем в очередь (бесплатно для клиента)
             Order order = new Order(customer, desiredDish);
+            order.setTicketId(kitchen.add(desiredDish, currentTick, customer.getPatienceDeadline()));
             customer.setCurrentOrder(order);
 
-            // Добавляем в очередь (бесплатно для клиента)
-            kitchenQueue.add(desiredDish);
-            cookingProgress.put(desiredDish, 0);
-
             // Сохраняем заказ в БД (заказ клиента)
             saveOrderToDatabase(desiredDish.getName(), desiredDish.getPrice(),
                     customer.hashCode(), "заказано_клиентом");
 
-            System.out.println("📝 Принят заказ от клиента: " + desiredDish.getName());
-            System.out.println("📊 Очередь кухни: " + kitchenQueue.size() + " блюд");
+            Log.debug("📝 Принят заказ от клиента: {}", desiredDish.getName());
+            Log.debug("📊 Очередь кухни: {} блюд", kitchen.size());
 
             fireOrderTaken(order);
             return true;
@@ -185,51 +254,57 @@ public class RestaurantModel {
     }
 
     public void takeOrderFromKitchen() {
-        if (!kitchenOrders.isEmpty() && player.getCarriedDish() == null) {
-            Dish dish = kitchenOrders.remove(0);
+        if (eventLog != null) eventLog.input(EventLog.TAKE_FROM_KITCHEN, currentTick);
+        if (!readyShelf.isEmpty() && player.getCarriedDish() == null) {
+            Dish dish = readyShelf.takeFirst();
             player.setCarriedDish(dish);
-            System.out.println("📦 Взято с кухни: " + dish.getName());
+            Log.debug("📦 Взято с кухни: {}", dish.getName());
         }
     }
 
     public boolean takeSpecificDishFromKitchen(Dish desiredDish) {
+        if (eventLog != null) eventLog.input(EventLog.TAKE_DISH, currentTick, desiredDish.getId());
         if (player.getCarriedDish() == null) {
-            for (Dish dish : kitchenOrders) {
-                if (dish.getName().equals(desiredDish.getName())) {
-                    player.setCarriedDish(dish);
-                    kitchenOrders.remove(dish);
-                    System.out.println("📦 Взято конкретное блюдо: " + dish.getName());
-                    return true;
-                }
+            Dish dish = readyShelf.take(desiredDish.getId());
+            if (dish != null) {
+                player.setCarriedDish(dish);
+                Log.debug("📦 Взято конкретное блюдо: {}", dish.getName());
+                return true;
             }
         }
         return false;
     }
 
     public boolean serveCustomer(Customer customer) {
+        if (!customer.isPresent()) {
+            Log.debug("❌ Клиент уже ушёл");
+            return false;
+        }
+        if (eventLog != null) eventLog.input(EventLog.SERVE, currentTick, customer.getId());
         if (player.getCarriedDish() == null) {
-            System.out.println("❌ У официанта нет блюда");
+            Log.debug("❌ У официанта нет блюда");
             return false;
         }
 
         Dish carriedDish = player.getCarriedDish();
 
         if (customer.getCurrentOrder() != null) {
-            if (carriedDish.getName().equals(customer.getCurrentOrder().getDish().getName())) {
+            if (carriedDish.getId() == customers.getDishId(customer.getId())) {
                 // Правильный заказ!
                 int price = customer.getCurrentOrder().getDish().getPrice();
                 money += price;
                 score += 15;
                 player.setCarriedDish(null);
-                customer.setServed(true);
                 Order servedOrder = customer.getCurrentOrder();
+                customer.serve(currentTick);
+                patienceDeadlines.remove(customer.getId());
                 customer.setCurrentOrder(null);
                 customer.setDesiredDish(null);
 
-                fireOrderServed(new OrderEvent(this, servedOrder));
-                System.out.println("🎉 Правильный заказ! +" + price + "$, +15 очков");
+                fireOrderServed(servedOrder);
+                Log.debug("🎉 Правильный заказ! +{}$, +15 очков", price);
 
-                scheduleCustomerLeave(customer, 3000);
+                scheduleCustomerLeave(customer, 60); // 3 секунды при 20 тиках/с
                 checkWinCondition();
                 return true;
             } else {
@@ -237,25 +312,26 @@ public class RestaurantModel {
                 money -= 15;
                 score -= 8;
                 player.setCarriedDish(null);
-                fireWrongOrderServed(new WrongOrderEvent(this, customer, carriedDish));
-                System.out.println("❌ Неправильный заказ! Штраф -15$, -8 очков");
+                fireWrongOrderServed(customer, carriedDish);
+                Log.debug("❌ Неправильный заказ! Штраф -15$, -8 очков");
                 checkGameOver();
                 return false;
             }
         } else {
-            System.out.println("❌ Клиент не ожидает заказ");
+            Log.debug("❌ Клиент не ожидает заказ");
             return false;
         }
     }
 
     public boolean throwAwayDishInTrashBin() {
+        if (eventLog != null) eventLog.input(EventLog.THROW_AWAY_IN_BIN, currentTick);
         if (player.getCarriedDish() != null) {
             Dish thrownDish = player.getCarriedDish();
             player.setCarriedDish(null);
             money -= 8;
             score -= 5;
-            fireDishThrownAway(new RestaurantEvent(this));
-            System.out.println("🗑️ Блюдо выброшено в мусорку: " + thrownDish.getName() + "! Штраф -8$, -5 очков");
+            fireDishThrownAway();
+            Log.debug("🗑️ Блюдо выброшено в мусорку: {}! Штраф -8$, -5 очков", thrownDish.getName());
             checkGameOver();
             return true;
         }
@@ -263,12 +339,13 @@ public class RestaurantModel {
     }
 
     public void throwAwayDish() {
+        if (eventLog != null) eventLog.input(EventLog.THROW_AWAY, currentTick);
         if (player.getCarriedDish() != null) {
             Dish thrownDish = player.getCarriedDish();
             player.setCarriedDish(null);
             score -= 3;
-            fireDishThrownAway(new RestaurantEvent(this));
-            System.out.println("🗑️ Блюдо выброшено: " + thrownDish.getName() + "! Штраф -3 очка");
+            fireDishThrownAway();
+            Log.debug("🗑️ Блюдо выброшено: {}! Штраф -3 очка", thrownDish.getName());
         }
     }
 
@@ -279,135 +356,283 @@ public class RestaurantModel {
         }
     }
 
-    private void scheduleCustomerLeave(Customer customer, int delay) {
-        if (customerLeaveTimers.containsKey(customer)) {
-            customerLeaveTimers.get(customer).stop();
-        }
+    // Уход считается в тиках симуляции: ускоряется и встаёт на паузу вместе с игрой
+    private void scheduleCustomerLeave(Customer customer, int delayTicks) {
+        cancelLeaveTimer(customer);
 
-        Timer leaveTimer = new Timer(delay, e -> {
-            removeCustomer(customer);
+        TimingWheel.Timeout leaveTimer = scheduler.schedule(delayTicks, () -> {
             fireCustomerLeftHappy(customer);
+            removeCustomer(customer);
         });
-        leaveTimer.setRepeats(false);
-        leaveTimer.start();
+        customerLeaveTimers[customer.getId()] = leaveTimer;
+    }
 
-        customerLeaveTimers.put(customer, leaveTimer);
+    private void cancelLeaveTimer(Customer customer) {
+        TimingWheel.Timeout leaveTimer = customerLeaveTimers[customer.getId()];
+        if (leaveTimer != null) {
+            customerLeaveTimers[customer.getId()] = null;
+            leaveTimer.cancel();
+        }
     }
 
     private void removeCustomer(Customer customer) {
-        customers.remove(customer);
-        customerLeaveTimers.remove(customer);
-        System.out.println("🚪 Клиент ушел довольный");
+        customerLeaveTimers[customer.getId()] = null;
+        releaseCustomer(customer);
+        Log.debug("🚪 Клиент ушел довольный");
     }
 
     private void checkWinCondition() {
-        if (score >= 100) {
+        if (score >= winScore) {
             gameRunning = false;
             fireGameWon();
         }
     }
 
     public void cleanupTable(Table table) {
+        if (eventLog != null) eventLog.input(EventLog.CLEANUP_TABLE, currentTick, table.getTableNumber());
         table.setClean(true);
         score += 5;
         checkWinCondition();
     }
 
-    public int getCookingProgress(Dish dish) {
-        return cookingProgress.getOrDefault(dish, 0);
+    // Состояние смены для ModelSnapshot. Из отложенных задач сохраняются только уходы клиентов,
+    // подписчики событий и журнал в снимок не входят
+    void writeState(ByteBuffer out) {
+        layout.writeTo(out);
+        kitchen.writeConfig(out);
+        Varint.put(out, menu.size());
+        out.putLong(random.getSeed());
+        out.putLong(random.getState());
+        Varint.put(out, currentTick);
+        Varint.putSigned(out, score);
+        Varint.putSigned(out, money);
+        Varint.put(out, winScore);
+        out.put((byte) (gameRunning ? 1 : 0));
+        out.put((byte) (persistOrders ? 1 : 0));
+
+        Varint.putSigned(out, player.getX());
+        Varint.putSigned(out, player.getY());
+        Varint.putSigned(out, player.getPrevX());
+        Varint.putSigned(out, player.getPrevY());
+        Varint.putSigned(out, player.getMoveX());
+        Varint.putSigned(out, player.getMoveY());
+        Varint.putSigned(out, player.getCarriedDish() == null ? -1 : player.getCarriedDish().getId());
+
+        Varint.put(out, tables.size());
+        for (Table table : tables) {
+            out.put((byte) (table.isClean() ? 1 : 0));
+        }
+
+        customers.writeState(out);
+        patienceDeadlines.writeState(out);
+        readyShelf.writeState(out);
+        kitchen.writeState(out);
+
+        // Уходы клиентов - по корзинам колеса, внутри корзины в порядке постановки.
+        // Это не порядок срабатывания (дальние таймеры делят корзину с ближними), но restore
+        // ставит их заново по абсолютному тику, и внутри одного тика порядок сохраняется
+        Map<TimingWheel.Timeout, Integer> leaveSlots = new IdentityHashMap<>();
+        for (int slot = 0; slot < customerLeaveTimers.length; slot++) {
+            if (customerLeaveTimers[slot] != null) {
+                leaveSlots.put(customerLeaveTimers[slot], slot);
+            }
+        }
+        Varint.put(out, leaveSlots.size());
+        scheduler.forEachPending(timeout -> {
+            Integer slot = leaveSlots.get(timeout);
+            if (slot != null) {
+                Varint.put(out, slot);
+                Varint.put(out, timeout.getDeadline());
+            }
+        });
     }
 
-    public int getTrashBinX() { return trashBinX; }
-    public int getTrashBinY() { return trashBinY; }
+    static RestaurantModel readState(ByteBuffer in) {
+        RestaurantLayout layout = RestaurantLayout.readFrom(in);
+        KitchenScheduler kitchen = KitchenScheduler.readConfig(in);
+        int menuSize = Varint.getInt(in);
+        long seed = in.getLong();
+        RestaurantModel model = new RestaurantModel(layout, SimRandom.restore(seed, in.getLong()), kitchen);
+        if (model.menu.size() != menuSize) {
+            throw new IllegalStateException("Снимок сделан с другим меню: " + menuSize + " блюд, сейчас " + model.menu.size());
+        }
+        model.restoreState(in);
+        return model;
+    }
+
+    private void restoreState(ByteBuffer in) {
+        currentTick = Varint.get(in);
+        scheduler.resetTo(currentTick);
+        score = Varint.getSignedInt(in);
+        money = Varint.getSignedInt(in);
+        winScore = Varint.getInt(in);
+        gameRunning = in.get() != 0;
+        persistOrders = in.get() != 0;
+
+        player.restorePosition(Varint.getSignedInt(in), Varint.getSignedInt(in), Varint.getSignedInt(in), Varint.getSignedInt(in));
+        player.setMoveDirection(Varint.getSignedInt(in), Varint.getSignedInt(in));
+        player.setCarriedDish(menu.get(Varint.getSignedInt(in)));
+
+        int tableCount = Varint.getInt(in);
+        for (int i = 0; i < tableCount; i++) {
+            tables.get(i).setClean(in.get() != 0);
+        }
 
-    private List<RestaurantEventListener> listeners = new ArrayList<>();
+        customers.readState(in);
+        for (int i = 0; i < customers.size(); i++) {
+            spatialIndex.add(customers.getCustomer(customers.activeSlot(i)));
+        }
+        patienceDeadlines.readState(in);
+        readyShelf.readState(in);
+        kitchen.readState(in, menu);
+
+        int leaveCount = Varint.getInt(in);
+        for (int i = 0; i < leaveCount; i++) {
+            Customer customer = customers.getCustomer(Varint.getInt(in));
+            scheduleCustomerLeave(customer, (int) (Varint.get(in) - currentTick));
+        }
+    }
+
+    // Направление движения официанта с клавиатуры; в журнал попадает только смена направления
+    public void movePlayer(int dx, int dy) {
+        dx = Integer.signum(dx);
+        dy = Integer.signum(dy);
+        if (dx == player.getMoveX() && dy == player.getMoveY()) {
+            return;
+        }
+        if (eventLog != null) eventLog.move(currentTick, dx, dy);
+        player.setMoveDirection(dx, dy);
+    }
+
+    // Журнал сессии: входы и события с этого момента (только на новой смене) до closeEventLog()
+    public EventLog startEventLog(Path path) throws IOException {
+        closeEventLog();
+        eventLog = EventLog.create(path, this);
+        return eventLog;
+    }
+
+    public void closeEventLog() {
+        if (eventLog != null) {
+            eventLog.close(this);
+            eventLog = null;
+        }
+    }
+
+    // Прогресс конкретного тикета, -1 - тикет уже приготовлен
+    public int getCookingProgress(long ticketId) {
+        return kitchen.getProgress(ticketId);
+    }
+
+    public int getTrashBinX() { return trashBin.getX(); }
+    public int getTrashBinY() { return trashBin.getY(); }
+    public TrashBin getTrashBin() { return trashBin; }
+    public SpatialGrid getSpatialIndex() { return spatialIndex; }
+
+    private RestaurantEventBus eventBus = new RestaurantEventBus();
+    private Map<RestaurantEventListener, RestaurantEventBus.Subscription<RestaurantEvent>> listenerSubscriptions = new HashMap<>();
 
     public void addRestaurantEventListener(RestaurantEventListener listener) {
-        listeners.add(listener);
+        addRestaurantEventListener(listener, EventDelivery.SYNC);
     }
 
-    private void fireCustomerAdded(Customer customer) {
-        for (RestaurantEventListener listener : listeners) {
-            listener.customerAdded(new CustomerEvent(this, customer));
+    public void addRestaurantEventListener(RestaurantEventListener listener, EventDelivery delivery) {
+        listenerSubscriptions.put(listener, eventBus.subscribe(listener, delivery));
+    }
+
+    public void removeRestaurantEventListener(RestaurantEventListener listener) {
+        RestaurantEventBus.Subscription<RestaurantEvent> subscription = listenerSubscriptions.remove(listener);
+        if (subscription != null) {
+            subscription.cancel();
         }
     }
 
-    private void fireCustomerLeft(Customer customer) {
-        for (RestaurantEventListener listener : listeners) {
-            listener.customerLeft(new CustomerEvent(this, customer));
+    private void fireCustomerEvent(RestaurantEventType<CustomerEvent> type, Customer customer) {
+        if (eventBus.hasSubscribers(type)) {
+            eventBus.post(new CustomerEvent(this, type, customer));
         }
     }
 
-    private void fireCustomerLeftHappy(Customer customer) {
-        for (RestaurantEventListener listener : listeners) {
-            if (listener instanceof ExtendedRestaurantEventListener) {
-                ((ExtendedRestaurantEventListener) listener).customerLeftHappy(new CustomerEvent(this, customer));
-            }
+    private void fireOrderEvent(RestaurantEventType<OrderEvent> type, Order order) {
+        if (eventBus.hasSubscribers(type)) {
+            eventBus.post(new OrderEvent(this, type, order));
         }
     }
 
-    private void fireGameOver() {
-        for (RestaurantEventListener listener : listeners) {
-            if (listener instanceof ExtendedRestaurantEventListener) {
-                ((ExtendedRestaurantEventListener) listener).gameOver(new RestaurantEvent(this));
-            }
+    private void fireEvent(RestaurantEventType<RestaurantEvent> type) {
+        if (eventBus.hasSubscribers(type)) {
+            eventBus.post(new RestaurantEvent(this, type));
         }
     }
 
+    private void fireCustomerAdded(Customer customer) {
+        fireCustomerEvent(RestaurantEventType.CUSTOMER_ADDED, customer);
+    }
+
+    private void fireCustomerLeft(Customer customer) {
+        fireCustomerEvent(RestaurantEventType.CUSTOMER_LEFT, customer);
+    }
+
+    private void fireCustomerLeftHappy(Customer customer) {
+        fireCustomerEvent(RestaurantEventType.CUSTOMER_LEFT_HAPPY, customer);
+    }
+
+    private void fireGameOver() {
+        fireEvent(RestaurantEventType.GAME_OVER);
+    }
+
     private void fireOrderTaken(Order order) {
-        for (RestaurantEventListener listener : listeners) {
-            listener.orderTaken(new OrderEvent(this, order));
-        }
+        fireOrderEvent(RestaurantEventType.ORDER_TAKEN, order);
     }
 
-    private void fireOrderServed(OrderEvent orderEvent) {
-        for (RestaurantEventListener listener : listeners) {
-            listener.orderServed(orderEvent);
-        }
+    private void fireOrderServed(Order order) {
+        fireOrderEvent(RestaurantEventType.ORDER_SERVED, order);
     }
 
-    private void fireWrongOrderServed(WrongOrderEvent event) {
-        for (RestaurantEventListener listener : listeners) {
-            listener.wrongOrderServed(event);
+    private void fireWrongOrderServed(Customer customer, Dish wrongDish) {
+        if (eventBus.hasSubscribers(RestaurantEventType.WRONG_ORDER_SERVED)) {
+            eventBus.post(new WrongOrderEvent(this, customer, wrongDish));
         }
     }
 
-    private void fireDishThrownAway(RestaurantEvent event) {
-        for (RestaurantEventListener listener : listeners) {
-            listener.dishThrownAway(event);
-        }
+    private void fireDishThrownAway() {
+        fireEvent(RestaurantEventType.DISH_THROWN_AWAY);
     }
 
     private void fireOrderReady(Dish dish) {
-        System.out.println("🔥 СОБЫТИЕ: Блюдо готово - " + dish.getName());
-        for (RestaurantEventListener listener : listeners) {
-            listener.orderTaken(new OrderEvent(this, new Order(null, dish)));
-        }
+        Log.debug("🔥 СОБЫТИЕ: Блюдо готово - {}", dish.getName());
+        fireOrderTaken(new Order(null, dish));
     }
 
     private void fireOrderPlacedByWaiter(Dish dish) {
-        System.out.println("👨‍🍳 СОБЫТИЕ: Официант заказал - " + dish.getName());
-        for (RestaurantEventListener listener : listeners) {
-            listener.orderTaken(new OrderEvent(this, new Order(null, dish)));
-        }
+        Log.debug("👨‍🍳 СОБЫТИЕ: Официант заказал - {}", dish.getName());
+        fireOrderTaken(new Order(null, dish));
     }
 
     private void fireGameWon() {
-        for (RestaurantEventListener listener : listeners) {
-            if (listener instanceof ExtendedRestaurantEventListener) {
-                ((ExtendedRestaurantEventListener) listener).gameWon(new RestaurantEvent(this));
-            }
-        }
+        fireEvent(RestaurantEventType.GAME_WON);
     }
 
     // Геттеры
-    public List<Customer> getCustomers() { return customers; }
+    public List<Customer> getCustomers() { return customers.getCustomers(); }
+    public CustomerStore getCustomerStore() { return customers; }
+    public RestaurantLayout getLayout() { return layout; }
     public List<Table> getTables() { return tables; }
     public Player getPlayer() { return player; }
     public int getScore() { return score; }
     public int getMoney() { return money; }
+    public int getCustomersLost() { return customersLost; }
     public boolean isGameRunning() { return gameRunning; }
-    public List<Dish> getKitchenOrders() { return kitchenOrders; }
-    public List<Dish> getKitchenQueue() { return kitchenQueue; }
-    public List<Dish> getMenu() { return menu; }
+    public long getCurrentTick() { return currentTick; }
+    public SimRandom getRandom() { return random; }
+    public TimingWheel getScheduler() { return scheduler; }
+    public RestaurantEventBus getEventBus() { return eventBus; }
+    public boolean isPersistOrders() { return persistOrders; }
+    public void setPersistOrders(boolean persistOrders) { this.persistOrders = persistOrders; }
+    public int getWinScore() { return winScore; }
+    public void setWinScore(int winScore) { this.winScore = winScore; }
+    public ReadyShelf getReadyShelf() { return readyShelf; }
+    public DishCatalog getDishCatalog() { return menu; }
+    public KitchenScheduler getKitchen() { return kitchen; }
+    public EventLog getEventLog() { return eventLog; }
+    public List<Dish> getMenu() { return menu.getDishes(); }
 }
\ No newline at end of file
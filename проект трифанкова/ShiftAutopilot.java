@@ -0,0 +1,36 @@
+// Простой "бот-официант" для безголовых прогонов: сажает клиентов,
+// принимает заказы и разносит готовые блюда
+public class ShiftAutopilot implements TickListener {
+    private final int arrivalInterval; // раз во сколько тиков приходит клиент
+
+    public ShiftAutopilot(int arrivalInterval) {
+        if (arrivalInterval <= 0) {
+            throw new IllegalArgumentException("Интервал прихода клиентов должен быть положительным: " + arrivalInterval);
+        }
+        this.arrivalInterval = arrivalInterval;
+    }
+
+    @Override
+    public void afterTick(RestaurantModel model, long tick) {
+        if (tick % arrivalInterval == 0) {
+            model.addCustomer();
+        }
+
+        Player player = model.getPlayer();
+        for (Customer customer : model.getCustomers()) {
+            if (!model.isGameRunning()) {
+                return;
+            }
+            if (customer.isServed()) {
+                continue;
+            }
+            if (customer.getCurrentOrder() == null && customer.getDesiredDish() != null) {
+                model.takeOrderFromCustomer(customer);
+            } else if (customer.getCurrentOrder() != null && player.getCarriedDish() == null) {
+                if (model.takeSpecificDishFromKitchen(customer.getCurrentOrder().getDish())) {
+                    model.serveCustomer(customer);
+                }
+            }
+        }
+    }
+}
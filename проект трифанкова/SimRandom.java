@@ -0,0 +1,51 @@
+import java.util.random.RandomGenerator;
+
+// Генератор случайных чисел симуляции (SplitMix64) с явным зерном. У каждой модели свой экземпляр:
+// потоки не делят общий генератор, а один и тот же seed даёт один и тот же ход игры.
+// В отличие от SplittableRandom, состояние можно сохранить и восстановить (снимки, повтор сессии)
+public final class SimRandom implements RandomGenerator {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final long seed;
+    private long state;
+
+    public SimRandom(long seed) {
+        this.seed = seed;
+        this.state = seed;
+    }
+
+    // -Drestaurant.seed=N; без него - новое зерно на каждый запуск
+    public static SimRandom fromSystemProperties() {
+        Long seed = Long.getLong("restaurant.seed");
+        return new SimRandom(seed != null ? seed : mix64(System.nanoTime() ^ System.identityHashCode(new Object())));
+    }
+
+    @Override
+    public long nextLong() {
+        state += GOLDEN_GAMMA;
+        return mix64(state);
+    }
+
+    // Независимый генератор для дочерней симуляции (ресторан сети, очередная смена);
+    // последовательность детей тоже определяется зерном родителя
+    public SimRandom split() {
+        return new SimRandom(nextLong());
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    public long getSeed() { return seed; }
+    // Генератор, продолжающий с сохранённого состояния
+    public static SimRandom restore(long seed, long state) {
+        SimRandom random = new SimRandom(seed);
+        random.state = state;
+        return random;
+    }
+
+    public long getState() { return state; }
+    public void setState(long state) { this.state = state; }
+}
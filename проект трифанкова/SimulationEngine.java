@@ -0,0 +1,159 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+// Движок симуляции с фиксированным шагом. Не зависит от Swing/AWT:
+// Swing-интерфейс - лишь один из клиентов, который вызывает advance().
+// Модель меняет только поток, вызывающий step(); остальные потоки шлют команды через getCommands().
+public class SimulationEngine {
+    public static final int DEFAULT_TICK_RATE = 20; // 50 мс на тик, как у старого игрового таймера
+    public static final int UNLIMITED = 0; // тики без пауз, максимально быстро
+
+    private static final int MAX_CATCH_UP_TICKS = 5; // чтобы не уйти в "спираль смерти" после зависания
+    private static final long TICKS_PER_MINUTE = 60L * DEFAULT_TICK_RATE; // минута игрового времени
+
+    private final RestaurantModel model;
+    private final long tickNanos;
+    private final List<TickListener> tickListeners = new ArrayList<>();
+    private final CommandQueue commands = new CommandQueue();
+
+    private long lastTime = -1;
+    private long accumulator;
+    private long ticks;
+    private int customersLostAtMinuteStart;
+    private volatile boolean running;
+
+    public SimulationEngine(RestaurantModel model) {
+        this(model, DEFAULT_TICK_RATE);
+    }
+
+    public SimulationEngine(RestaurantModel model, int ticksPerSecond) {
+        if (ticksPerSecond < 0) {
+            throw new IllegalArgumentException("Частота тиков не может быть отрицательной: " + ticksPerSecond);
+        }
+        this.model = model;
+        this.tickNanos = ticksPerSecond == UNLIMITED ? 0 : 1_000_000_000L / ticksPerSecond;
+    }
+
+    public void addTickListener(TickListener listener) {
+        tickListeners.add(listener);
+    }
+
+    // Один шаг симуляции: сначала команды, пришедшие с прошлого тика
+    public void step() {
+        long start = GameMetrics.ENABLED ? System.nanoTime() : 0;
+        commands.drain(model);
+        model.getPlayer().step();
+        model.updateCustomers();
+        ticks++;
+        for (TickListener listener : tickListeners) {
+            listener.afterTick(model, ticks);
+        }
+        if (GameMetrics.ENABLED) {
+            recordMetrics(start);
+        }
+    }
+
+    private void recordMetrics(long start) {
+        GameMetrics.TICK_NANOS.record(System.nanoTime() - start);
+        GameMetrics.KITCHEN_QUEUE.record(model.getKitchen().size());
+        GameMetrics.READY_SHELF.record(model.getReadyShelf().size());
+        if (ticks % TICKS_PER_MINUTE == 0) {
+            int lost = model.getCustomersLost();
+            GameMetrics.CUSTOMERS_LOST_PER_MINUTE.record(lost - customersLostAtMinuteStart);
+            customersLostAtMinuteStart = lost;
+        }
+    }
+
+    // Продвигает симуляцию на прошедшее реальное время целыми тиками, возвращает число тиков
+    public int advance(long nowNanos) {
+        return advance(nowNanos, Integer.MAX_VALUE);
+    }
+
+    // То же, но не больше maxSteps тиков за вызов; недоделанное время остаётся в аккумуляторе
+    public int advance(long nowNanos, int maxSteps) {
+        if (!model.isGameRunning()) {
+            commands.drain(model); // игра окончена, но запросы к итоговому состоянию должны получить ответ
+            return 0;
+        }
+        if (maxSteps <= 0) {
+            return 0;
+        }
+        if (tickNanos == 0) {
+            step();
+            return 1;
+        }
+        if (lastTime < 0) {
+            lastTime = nowNanos;
+            return 0;
+        }
+
+        accumulator += nowNanos - lastTime;
+        lastTime = nowNanos;
+        if (accumulator > MAX_CATCH_UP_TICKS * tickNanos) {
+            accumulator = MAX_CATCH_UP_TICKS * tickNanos;
+        }
+
+        int stepped = 0;
+        while (accumulator >= tickNanos && stepped < maxSteps && model.isGameRunning()) {
+            step();
+            accumulator -= tickNanos;
+            stepped++;
+        }
+        return stepped;
+    }
+
+    // Доля пройденного времени до следующего тика (0..1) - для интерполяции при отрисовке
+    public double getInterpolationAlpha() {
+        return tickNanos == 0 ? 1.0 : Math.min(1.0, (double) accumulator / tickNanos);
+    }
+
+    // Блокирующий цикл для безголового режима. maxTicks < 0 - до конца игры или stop()
+    public long run(long maxTicks) {
+        running = true;
+        long start = ticks;
+        lastTime = -1;
+        accumulator = 0;
+
+        while (running && model.isGameRunning() && (maxTicks < 0 || ticks - start < maxTicks)) {
+            if (tickNanos == 0) {
+                step();
+                continue;
+            }
+            long now = System.nanoTime();
+            long budget = maxTicks < 0 ? Integer.MAX_VALUE : maxTicks - (ticks - start);
+            advance(now, (int) Math.min(Integer.MAX_VALUE, budget));
+            long sleep = tickNanos - accumulator;
+            if (sleep > 0) {
+                LockSupport.parkNanos(sleep);
+            }
+        }
+        running = false;
+        drainCommands(); // пришедшее после последнего тика (например, после конца игры)
+        return ticks - start;
+    }
+
+    public void stop() {
+        running = false;
+    }
+
+    // Применить все накопившиеся команды без шага симуляции. Только из потока симуляции
+    public void drainCommands() {
+        while (commands.drain(model) > 0) {
+            // пачками по CommandQueue.MAX_BATCH
+        }
+    }
+
+    // Поток симуляции завершается: доприменить очередь и отклонять новые команды
+    public void close() {
+        running = false;
+        drainCommands();
+        commands.close();
+    }
+
+    public boolean isRunning() { return running; }
+    public long getTicks() { return ticks; }
+    public long getTickNanos() { return tickNanos; }
+    public RestaurantModel getModel() { return model; }
+    public CommandQueue getCommands() { return commands; }
+}
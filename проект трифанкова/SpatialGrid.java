@@ -0,0 +1,124 @@
+import java.util.ArrayList;
+import java.util.function.Predicate;
+
+// Равномерная сетка для поиска объектов рядом с точкой. Объекты сами сообщают
+// о перемещении (GameObject.move/setX/setY), поиск в радиусе смотрит только соседние клетки
+public class SpatialGrid {
+    private final int cellSize;
+    private final int columns;
+    private final int rows;
+    private final ArrayList<GameObject>[] cells;
+    private int size;
+
+    public SpatialGrid(int width, int height, int cellSize) {
+        if (width <= 0 || height <= 0 || cellSize <= 0) {
+            throw new IllegalArgumentException("Некорректные размеры сетки");
+        }
+        this.cellSize = cellSize;
+        this.columns = (width + cellSize - 1) / cellSize;
+        this.rows = (height + cellSize - 1) / cellSize;
+        this.cells = newCells(columns * rows);
+    }
+
+    // Массив параметризованного типа напрямую не создать - приведение здесь безопасно
+    @SuppressWarnings("unchecked")
+    private static ArrayList<GameObject>[] newCells(int count) {
+        return (ArrayList<GameObject>[]) new ArrayList<?>[count];
+    }
+
+    public void add(GameObject object) {
+        if (object.grid != null) {
+            throw new IllegalStateException("Объект уже в сетке");
+        }
+        object.grid = this;
+        object.gridCell = cellOf(object.getX(), object.getY());
+        cell(object.gridCell).add(object);
+        size++;
+    }
+
+    public void remove(GameObject object) {
+        if (object.grid != this) {
+            return;
+        }
+        removeFromCell(object, object.gridCell);
+        object.grid = null;
+        object.gridCell = -1;
+        size--;
+    }
+
+    // Вызывается объектом после смены координат
+    void update(GameObject object) {
+        int cell = cellOf(object.getX(), object.getY());
+        if (cell != object.gridCell) {
+            removeFromCell(object, object.gridCell);
+            object.gridCell = cell;
+            cell(cell).add(object);
+        }
+    }
+
+    // Ближайший объект типа type строго ближе radius к точке (x, y), прошедший фильтр
+    public <T extends GameObject> T nearest(Class<T> type, int x, int y, int radius, Predicate<? super T> filter) {
+        long radiusSq = (long) radius * radius;
+        int minCol = clamp((x - radius) / cellSize, columns);
+        int maxCol = clamp((x + radius) / cellSize, columns);
+        int minRow = clamp((y - radius) / cellSize, rows);
+        int maxRow = clamp((y + radius) / cellSize, rows);
+
+        T best = null;
+        long bestSq = radiusSq;
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                ArrayList<GameObject> objects = cells[row * columns + col];
+                if (objects == null) {
+                    continue;
+                }
+                for (int i = 0; i < objects.size(); i++) {
+                    GameObject object = objects.get(i);
+                    if (!type.isInstance(object)) {
+                        continue;
+                    }
+                    long dx = object.getX() - x;
+                    long dy = object.getY() - y;
+                    long distSq = dx * dx + dy * dy;
+                    T candidate = type.cast(object);
+                    if (distSq < bestSq && (filter == null || filter.test(candidate))) {
+                        best = candidate;
+                        bestSq = distSq;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    public <T extends GameObject> T nearest(Class<T> type, GameObject from, int radius, Predicate<? super T> filter) {
+        return nearest(type, from.getX(), from.getY(), radius, filter);
+    }
+
+    public int size() { return size; }
+
+    private int cellOf(int x, int y) {
+        return clamp(y / cellSize, rows) * columns + clamp(x / cellSize, columns);
+    }
+
+    private static int clamp(int value, int limit) {
+        return value < 0 ? 0 : Math.min(value, limit - 1);
+    }
+
+    private ArrayList<GameObject> cell(int index) {
+        ArrayList<GameObject> objects = cells[index];
+        if (objects == null) {
+            objects = new ArrayList<>(4);
+            cells[index] = objects;
+        }
+        return objects;
+    }
+
+    private void removeFromCell(GameObject object, int index) {
+        ArrayList<GameObject> objects = cells[index];
+        int position = objects.indexOf(object);
+        int last = objects.size() - 1;
+        objects.set(position, objects.get(last)); // порядок внутри клетки не важен
+        objects.remove(last);
+    }
+}
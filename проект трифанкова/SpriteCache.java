@@ -0,0 +1,100 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Кэш заранее отрисованных спрайтов. Фигура рисуется примитивами один раз в картинку
+// с прозрачностью, дальше кадр только копирует её. Размер ограничен: при переполнении
+// выбрасывается давно не использованный спрайт (LRU). Не потокобезопасен - им владеет поток отрисовки.
+public class SpriteCache {
+    public static final int DEFAULT_MAX_SPRITES = 512;
+
+    // Виды спрайтов для ключа
+    public static final int CUSTOMER = 1;
+    public static final int PLAYER = 2;
+    public static final int DISH = 3;
+    public static final int TABLE = 4;
+
+    // Рисует фигуру вокруг точки (0, 0) - той же, что передаётся в draw()
+    public interface Painter {
+        void paint(Graphics2D g2d);
+    }
+
+    private static final class Sprite {
+        final BufferedImage image;
+        final int offsetX, offsetY;
+
+        Sprite(BufferedImage image, int offsetX, int offsetY) {
+            this.image = image;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+        }
+    }
+
+    private final int maxSprites;
+    private final Map<Long, Sprite> sprites;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public SpriteCache() {
+        this(Integer.getInteger("restaurant.sprites.max", DEFAULT_MAX_SPRITES));
+    }
+
+    public SpriteCache(int maxSprites) {
+        if (maxSprites <= 0) {
+            throw new IllegalArgumentException("Размер кэша спрайтов должен быть положительным: " + maxSprites);
+        }
+        this.maxSprites = maxSprites;
+        this.sprites = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Sprite> eldest) {
+                if (size() > SpriteCache.this.maxSprites) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // kind - вид спрайта, variant - до 24 бит (номер, хэш названия...), rgb - цвет или иной 32-битный признак
+    public static long key(int kind, int variant, int rgb) {
+        return ((long) kind << 56) | ((long) (variant & 0xFFFFFF) << 32) | (rgb & 0xFFFFFFFFL);
+    }
+
+    // Рисует спрайт с точкой привязки в (x, y). bounds - область фигуры относительно точки привязки
+    public void draw(Graphics2D g2d, int x, int y, long key, Rectangle bounds, Painter painter) {
+        Sprite sprite = sprites.get(key);
+        if (sprite == null) {
+            misses++;
+            sprite = rasterize(g2d.getDeviceConfiguration(), bounds, painter);
+            sprites.put(key, sprite);
+        } else {
+            hits++;
+        }
+        g2d.drawImage(sprite.image, x + sprite.offsetX, y + sprite.offsetY, null);
+    }
+
+    private static Sprite rasterize(GraphicsConfiguration config, Rectangle bounds, Painter painter) {
+        BufferedImage image = config != null
+                ? config.createCompatibleImage(bounds.width, bounds.height, Transparency.TRANSLUCENT)
+                : new BufferedImage(bounds.width, bounds.height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.translate(-bounds.x, -bounds.y);
+        painter.paint(g2d);
+        g2d.dispose();
+        return new Sprite(image, bounds.x, bounds.y);
+    }
+
+    public void clear() {
+        sprites.clear();
+    }
+
+    public int size() { return sprites.size(); }
+    public int getMaxSprites() { return maxSprites; }
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public long getEvictions() { return evictions; }
+}
@@ -0,0 +1,3 @@
+public interface TickListener {
+    void afterTick(RestaurantModel model, long tick);
+}
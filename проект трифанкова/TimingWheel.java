@@ -0,0 +1,143 @@
+import java.util.function.Consumer;
+
+// Хешированное колесо таймеров в тиках симуляции. Планирование и отмена - O(1),
+// продвижение на тик обходит только одну корзину. Однопоточное: вызывать из потока модели
+public class TimingWheel {
+    public static final class Timeout {
+        private final TimingWheel wheel;
+        private final long deadline;
+        private final Runnable task;
+        private Timeout prev;
+        private Timeout next;
+        private boolean linked;
+        private boolean cancelled;
+        private boolean expired;
+
+        private Timeout(TimingWheel wheel, long deadline, Runnable task) {
+            this.wheel = wheel;
+            this.deadline = deadline;
+            this.task = task;
+        }
+
+        public boolean cancel() {
+            return wheel.cancel(this);
+        }
+
+        public long getDeadline() { return deadline; }
+        public boolean isCancelled() { return cancelled; }
+        public boolean isExpired() { return expired; }
+    }
+
+    private final Timeout[] buckets;
+    private final int mask;
+    private long currentTick;
+    private int pending;
+
+    public TimingWheel(int wheelSize) {
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Размер колеса должен быть степенью двойки: " + wheelSize);
+        }
+        buckets = new Timeout[wheelSize];
+        mask = wheelSize - 1;
+    }
+
+    // Выполнить задачу через delayTicks тиков (минимум через один)
+    public Timeout schedule(long delayTicks, Runnable task) {
+        Timeout timeout = new Timeout(this, currentTick + Math.max(1, delayTicks), task);
+        link(timeout);
+        return timeout;
+    }
+
+    public boolean cancel(Timeout timeout) {
+        if (timeout.cancelled || timeout.expired || timeout.wheel != this) {
+            return false;
+        }
+        timeout.cancelled = true;
+        if (timeout.linked) {
+            unlink(timeout);
+        }
+        return true;
+    }
+
+    // Продвинуть колесо на один тик и выполнить наступившие задачи
+    public void advance() {
+        currentTick++;
+        int index = (int) (currentTick & mask);
+
+        // Сначала снимаем все наступившие таймеры, потом выполняем:
+        // задачи могут планировать новые таймеры в эту же корзину
+        Timeout due = null;
+        Timeout timeout = buckets[index];
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            if (timeout.deadline <= currentTick) {
+                unlink(timeout);
+                timeout.next = due;
+                due = timeout;
+            }
+            timeout = next;
+        }
+
+        while (due != null) {
+            Timeout next = due.next;
+            due.next = null;
+            if (!due.cancelled) {
+                due.expired = true;
+                due.task.run();
+            }
+            due = next;
+        }
+    }
+
+    // Все ожидающие таймеры; внутри корзины - в порядке планирования (в нём они и сработают)
+    void forEachPending(Consumer<Timeout> action) {
+        for (Timeout head : buckets) {
+            Timeout tail = head;
+            while (tail != null && tail.next != null) {
+                tail = tail.next;
+            }
+            for (Timeout timeout = tail; timeout != null; timeout = timeout.prev) {
+                action.accept(timeout);
+            }
+        }
+    }
+
+    // Для восстановления из снимка: пустое колесо переводится на заданный тик
+    void resetTo(long tick) {
+        if (pending != 0) {
+            throw new IllegalStateException("В колесе ещё " + pending + " таймеров");
+        }
+        currentTick = tick;
+    }
+
+    private void link(Timeout timeout) {
+        int index = (int) (timeout.deadline & mask);
+        Timeout head = buckets[index];
+        timeout.next = head;
+        if (head != null) {
+            head.prev = timeout;
+        }
+        buckets[index] = timeout;
+        timeout.linked = true;
+        pending++;
+    }
+
+    private void unlink(Timeout timeout) {
+        int index = (int) (timeout.deadline & mask);
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            buckets[index] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.linked = false;
+        pending--;
+    }
+
+    public long getCurrentTick() { return currentTick; }
+    public int getPendingCount() { return pending; }
+}
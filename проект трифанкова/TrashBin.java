@@ -0,0 +1,5 @@
+public class TrashBin extends GameObject {
+    public TrashBin(int x, int y) {
+        super(x, y);
+    }
+}
@@ -0,0 +1,41 @@
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Тройной буфер для одного писателя и одного читателя. Писатель заполняет back() и
+// публикует его одной атомарной операцией; читатель забирает самый свежий буфер.
+// Никто никого не ждёт: писатель не блокируется медленным читателем и наоборот.
+public class TripleBuffer<T> {
+    private static final int INDEX_MASK = 0b011;
+    private static final int FRESH = 0b100; // в среднем буфере лежит ещё не прочитанная публикация
+
+    private final Object[] buffers = new Object[3];
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 0;  // принадлежит писателю
+    private int front = 2; // принадлежит читателю
+
+    public TripleBuffer(Supplier<T> factory) {
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = factory.get();
+        }
+    }
+
+    // Буфер, который сейчас заполняет писатель
+    @SuppressWarnings("unchecked")
+    public T back() {
+        return (T) buffers[back];
+    }
+
+    // Отдаёт заполненный back() читателю, писатель получает свободный буфер
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    // Самая свежая публикация (или та же, что и в прошлый раз, если новых не было)
+    @SuppressWarnings("unchecked")
+    public T acquire() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX_MASK;
+        }
+        return (T) buffers[front];
+    }
+}
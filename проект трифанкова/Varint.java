@@ -0,0 +1,57 @@
+import java.nio.ByteBuffer;
+
+// Числа переменной длины (LEB128): по 7 бит в байте, старший бит - "дальше ещё байт".
+// Маленькие числа занимают 1-2 байта; знаковые сначала переводятся в zigzag (0, -1, 1, -2... -> 0, 1, 2, 3...)
+public final class Varint {
+    public static final int MAX_BYTES = 10; // для long
+
+    private Varint() {
+    }
+
+    public static void put(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    public static void putSigned(ByteBuffer buffer, long value) {
+        put(buffer, zigzag(value));
+    }
+
+    public static long get(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (shift >= 64) {
+                throw new IllegalArgumentException("Слишком длинное число в позиции " + buffer.position());
+            }
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    public static int getInt(ByteBuffer buffer) {
+        return (int) get(buffer);
+    }
+
+    public static long getSigned(ByteBuffer buffer) {
+        return unzigzag(get(buffer));
+    }
+
+    public static int getSignedInt(ByteBuffer buffer) {
+        return (int) getSigned(buffer);
+    }
+
+    public static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    public static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -1,11 +1,15 @@
+// Неизменяемое событие: что клиент хотел и что ему принесли, на момент ошибки
 public class WrongOrderEvent extends RestaurantEvent {
-    private Customer customer;
-    private Dish wrongDish;
+    private final int customerId;
+    private final Dish wantedDish;
+    private final Dish wrongDish;
     public WrongOrderEvent(Object source, Customer customer, Dish wrongDish) {
-        super(source);
-        this.customer = customer;
+        super(source, RestaurantEventType.WRONG_ORDER_SERVED);
+        this.customerId = customer.getId();
+        this.wantedDish = customer.getDesiredDish();
         this.wrongDish = wrongDish;
     }
-    public Customer getCustomer() { return customer; }
+    public int getCustomerId() { return customerId; }
+    public Dish getWantedDish() { return wantedDish; }
     public Dish getWrongDish() { return wrongDish; }
 }
\ No newline at end of file